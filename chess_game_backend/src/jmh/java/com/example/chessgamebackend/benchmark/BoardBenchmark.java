@@ -0,0 +1,48 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.domain.Board;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FEN parse and serialize cost per corpus phase (one op = every position of the phase).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private String[] fens;
+    private Board[] boards;
+
+    @Setup
+    public void setup() {
+        fens = phase.fens().toArray(new String[0]);
+        boards = new Board[fens.length];
+        for (int i = 0; i < fens.length; i++) {
+            boards[i] = new Board();
+            boards[i].loadFEN(fens[i]);
+        }
+    }
+
+    @Benchmark
+    public void loadFEN(Blackhole bh) {
+        for (String fen : fens) {
+            Board b = new Board();
+            b.loadFEN(fen);
+            bh.consume(b);
+        }
+    }
+
+    @Benchmark
+    public void toFEN(Blackhole bh) {
+        for (Board b : boards) {
+            bh.consume(b.toFEN());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.engine.ChessEngine;
+import com.example.chessgamebackend.engine.MoveList;
+import com.example.chessgamebackend.engine.MoveValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full move application (FEN in, validated move, FEN and status out) per corpus phase.
+ * Each position plays its first legal move; one op = every position of the phase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChessEngineBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private final ChessEngine engine = new ChessEngine();
+    private String[] fens;
+    private int[] moves;
+
+    @Setup
+    public void setup() {
+        fens = phase.fens().toArray(new String[0]);
+        moves = new int[fens.length];
+        MoveList legal = new MoveList();
+        MoveValidator validator = new MoveValidator();
+        for (int i = 0; i < fens.length; i++) {
+            Board b = new Board();
+            b.loadFEN(fens[i]);
+            validator.generateLegalMoves(b, legal);
+            moves[i] = legal.get(0);
+        }
+    }
+
+    @Benchmark
+    public void applyMove(Blackhole bh) {
+        for (int i = 0; i < fens.length; i++) {
+            bh.consume(engine.applyMove(fens[i], moves[i]));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.engine.MoveList;
+import com.example.chessgamebackend.engine.MoveValidator;
+import com.example.chessgamebackend.service.ActorGameExecutor;
+import com.example.chessgamebackend.service.GameLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Move throughput under contention: threads play moves on randomly chosen games, each move guarded
+ * by the game's lock the way GameService guards it (generate legal moves, make one, take it back).
+ * "striped" uses GameLocks; "actor" submits to ActorGameExecutor and waits, as GameService does in
+ * actor mode; "global" serializes every game behind one lock as a baseline.
+ * With many games striped throughput should grow with the thread count while global stays flat;
+ * with a single game all of them serialize, which is the intended behavior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GameContentionBenchmark {
+
+    @Param({"1", "64", "4096"})
+    public int games;
+
+    private final GameLocks locks = new GameLocks(1024);
+    private final Lock global = new ReentrantLock();
+    private ActorGameExecutor actors;
+    private UUID[] ids;
+    private Board[] boards;
+    private PerThread[] scratch;
+
+    @State(Scope.Thread)
+    public static class PerThread {
+        final MoveValidator validator = new MoveValidator();
+        final MoveList moves = new MoveList();
+    }
+
+    @Setup
+    public void setup() {
+        ids = new UUID[games];
+        boards = new Board[games];
+        scratch = new PerThread[games];
+        for (int i = 0; i < games; i++) {
+            ids[i] = UUID.randomUUID();
+            boards[i] = new Board();
+            boards[i].initStartingPosition();
+            scratch[i] = new PerThread();
+        }
+        // Commands here only compute, so one thread per CPU
+        actors = new ActorGameExecutor(new SimpleMeterRegistry(), Runtime.getRuntime().availableProcessors(), "sync", 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        actors.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void striped_1(PerThread t, Blackhole bh) {
+        striped(t, bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void striped_4(PerThread t, Blackhole bh) {
+        striped(t, bh);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void striped_16(PerThread t, Blackhole bh) {
+        striped(t, bh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void actor_1(PerThread t, Blackhole bh) {
+        actor(t, bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void actor_4(PerThread t, Blackhole bh) {
+        actor(t, bh);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void actor_16(PerThread t, Blackhole bh) {
+        actor(t, bh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void global_1(PerThread t, Blackhole bh) {
+        global(t, bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void global_4(PerThread t, Blackhole bh) {
+        global(t, bh);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void global_16(PerThread t, Blackhole bh) {
+        global(t, bh);
+    }
+
+    private void striped(PerThread t, Blackhole bh) {
+        int game = ThreadLocalRandom.current().nextInt(games);
+        Lock lock = locks.forGame(ids[game]);
+        lock.lock();
+        try {
+            bh.consume(play(boards[game], t));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void actor(PerThread t, Blackhole bh) {
+        int game = ThreadLocalRandom.current().nextInt(games);
+        // Runs on an actor thread, so it uses that game's own scratch state rather than the caller's
+        bh.consume(actors.execute(ids[game], () -> play(boards[game], scratch[game])));
+    }
+
+    private void global(PerThread t, Blackhole bh) {
+        int game = ThreadLocalRandom.current().nextInt(games);
+        global.lock();
+        try {
+            bh.consume(play(boards[game], t));
+        } finally {
+            global.unlock();
+        }
+    }
+
+    private static Color play(Board board, PerThread t) {
+        t.validator.generateLegalMoves(board, t.moves);
+        long undo = board.makeMove(t.moves.get(0));
+        Color toMove = board.getSideToMove();
+        board.unmakeMove(undo);
+        return toMove;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.ChessGameBackendApplication;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.repository.GameStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-move database cost of the synchronous stores against in-memory H2: "sync" goes through
+ * Hibernate (JPQL update of every column), "jdbc" through prepared statements (targeted position update,
+ * projection read). move = the writes of one ordinary move in its own transaction (move row insert
+ * plus game update); load = rehydrating a game after a live-cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameStoreBenchmark {
+
+    private static final int GAMES = 256;
+
+    @Param({"sync", "jdbc"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private GameStore store;
+    private Game[] games;
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ChessGameBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--chess.persistence.mode=" + mode,
+                        "--spring.datasource.url=jdbc:h2:mem:store-" + mode + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        store = context.getBean(GameStore.class);
+        games = new Game[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            Game g = new Game();
+            g.setCurrentFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+            g.setStatus(GameStatus.ONGOING);
+            g.setTurn(Color.WHITE);
+            g.setWhitePlayerId("white-" + i);
+            g.setBlackPlayerId("black-" + i);
+            g.recordPosition(i, true);
+            games[i] = store.inUnit(() -> store.create(g));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Game move() {
+        Game g = games[next++ & (GAMES - 1)];
+        return store.inUnit(() -> {
+            int ply = g.getPlyCount() + 1;
+            g.setPlyCount(ply);
+            g.setTurn(g.getTurn().opposite());
+            g.recordPosition(ply, ply % 20 == 0); // keep the key list at a typical length
+            store.insertMove(new GameMove(g.getId(), ply, "e2", "e4", null, "e4", ply, Instant.now()), true);
+            g.preUpdate();
+            store.updatePosition(g);
+            return g;
+        });
+    }
+
+    @Benchmark
+    public Game load() {
+        Game g = games[next++ & (GAMES - 1)];
+        return store.inUnit(() -> store.find(g.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.engine.MoveList;
+import com.example.chessgamebackend.engine.MoveValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legal move generation and check detection per corpus phase (one op = every position of the phase).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveValidatorBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private final MoveValidator validator = new MoveValidator();
+    private final MoveList moves = new MoveList();
+    private Board[] boards;
+
+    @Setup
+    public void setup() {
+        boards = phase.fens().stream().map(fen -> {
+            Board b = new Board();
+            b.loadFEN(fen);
+            return b;
+        }).toArray(Board[]::new);
+    }
+
+    @Benchmark
+    public void generateLegalMoves(Blackhole bh) {
+        for (Board b : boards) {
+            bh.consume(validator.generateLegalMoves(b, moves));
+        }
+    }
+
+    @Benchmark
+    public void isKingInCheck(Blackhole bh) {
+        for (Board b : boards) {
+            bh.consume(validator.isKingInCheck(b, b.getSideToMove()));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.chessgamebackend.benchmark;
+
+import java.util.List;
+
+/**
+ * Fixed FEN corpus shared by the benchmarks, grouped by game phase.
+ * Positions stay within the MVP rules (no en passant square set).
+ */
+public final class PositionCorpus {
+
+    /**
+     * Game phase selector used as a JMH parameter.
+     */
+    public enum Phase {
+        OPENING(List.of(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+                "rnbqkb1r/pp2pppp/3p1n2/8/3NP3/8/PPP2PPP/RNBQKB1R w KQkq - 1 5"
+        )),
+        MIDDLEGAME(List.of(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                "r2q1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w KQ - 0 9"
+        )),
+        ENDGAME(List.of(
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1",
+                "8/5k2/3p4/1p1Pp2p/pP2Pp1P/P4P1K/8/8 b - - 0 1"
+        ));
+
+        private final List<String> fens;
+
+        Phase(List<String> fens) {
+            this.fens = fens;
+        }
+
+        public List<String> fens() {
+            return fens;
+        }
+    }
+
+    private PositionCorpus() {}
+}
@@ -0,0 +1,88 @@
+package com.example.chessgamebackend.benchmark;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.GameWireCodec;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.dto.GameStateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing the game state as JSON against the binary STATE and MOVED messages of
+ * {@link GameWireCodec} (one op = every position of the phase). Message sizes are printed at setup;
+ * the gc profiler reports bytes allocated per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private final ObjectMapper json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Game[] games;
+    private int move;
+
+    @Setup
+    public void setup() throws Exception {
+        String[] fens = phase.fens().toArray(new String[0]);
+        games = new Game[fens.length];
+        for (int i = 0; i < fens.length; i++) {
+            Game g = Game.restore(UUID.randomUUID(), Instant.now(), Instant.now(), 40 + i);
+            g.setCurrentFEN(fens[i]);
+            g.setStatus(GameStatus.ONGOING);
+            g.setWhitePlayerId("alice123");
+            g.setBlackPlayerId("bob456");
+            g.setPlyCount(2 * Board.fullmoveNumber(fens[i]));
+            games[i] = g;
+        }
+        move = PackedMove.of(Board.squareIndex("e2"), Board.squareIndex("e4"), null);
+        System.out.printf("%n%s: JSON state %d bytes, binary state %d bytes, binary move reply %d bytes%n", phase,
+                json.writeValueAsBytes(response(games[0])).length,
+                GameWireCodec.encodeState(games[0]).length,
+                GameWireCodec.encodeMoved(games[0], move).length);
+    }
+
+    @Benchmark
+    public long json() throws Exception {
+        long bytes = 0;
+        for (Game g : games) {
+            bytes += json.writeValueAsBytes(response(g)).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long binaryState() {
+        long bytes = 0;
+        for (Game g : games) {
+            bytes += GameWireCodec.encodeState(g).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long binaryMoved() {
+        long bytes = 0;
+        for (Game g : games) {
+            bytes += GameWireCodec.encodeMoved(g, move).length;
+        }
+        return bytes;
+    }
+
+    private static GameStateResponse response(Game g) {
+        return new GameStateResponse(g.getId(), g.getStatus(), g.getTurn(), g.getWhitePlayerId(), g.getBlackPlayerId(),
+                g.getCurrentFEN(), "e2-e4", Board.fullmoveNumber(g.getCurrentFEN()), g.getUpdatedAt(), g.getPlyCount());
+    }
+}
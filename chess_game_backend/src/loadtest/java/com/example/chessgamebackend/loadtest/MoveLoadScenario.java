@@ -0,0 +1,203 @@
+package com.example.chessgamebackend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load scenario comparing request execution modes (platform vs virtual threads) on the game hot path.
+ *
+ * Each connection plays its own game against a running server, alternating a state read
+ * (GET /api/chess/games/{id}) and a move (POST /api/chess/games/{id}/moves). The moves shuffle the knights,
+ * so every game ends in a draw by repetition after eight plies and the connection starts a new one.
+ * All connections are in flight at once on a few client threads (asynchronous HttpClient), so the client
+ * itself does not cap concurrency. After the warm-up, throughput and latency percentiles are reported per
+ * operation.
+ *
+ * Usage: MoveLoadScenario [baseUrl] [connections] [seconds] [warmupSeconds]
+ */
+public final class MoveLoadScenario {
+
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+    private static final String ONGOING = "\"status\":\"ONGOING\"";
+    // White and black knights out and back: the start position repeats a third time at ply 8
+    private static final String[][] MOVES = {{"g1", "f3"}, {"g8", "f6"}, {"f3", "g1"}, {"f6", "g8"}};
+
+    private final HttpClient client;
+    private final String base;
+    private final Latencies reads = new Latencies("getGame");
+    private final Latencies moves = new Latencies("makeMove");
+    private final AtomicLong games = new AtomicLong();
+    private volatile long deadline;
+
+    private MoveLoadScenario(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.base = baseUrl.replaceAll("/+$", "") + "/api/chess/games";
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        ExecutorService io = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(io)
+                .build();
+        MoveLoadScenario scenario = new MoveLoadScenario(client, baseUrl);
+        System.out.printf(Locale.ROOT, "%s: %d connections, %ds warm-up, %ds measured%n",
+                baseUrl, connections, warmup, seconds);
+
+        long start = System.nanoTime();
+        scenario.deadline = start + TimeUnit.SECONDS.toNanos(warmup + seconds);
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            scenario.play("w" + i, "b" + i).whenComplete((v, ex) -> done.countDown());
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+        scenario.reads.reset();
+        scenario.moves.reset();
+        long measuredFrom = System.nanoTime();
+        done.await();
+        double elapsed = (System.nanoTime() - measuredFrom) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%-9s %10s %10s %9s %9s %9s %9s %7s%n",
+                "op", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        scenario.reads.print(elapsed);
+        scenario.moves.print(elapsed);
+        System.out.printf(Locale.ROOT, "games played: %d%n", scenario.games.get());
+        io.shutdownNow();
+    }
+
+    /** One connection's loop: create a game, then read and move until the deadline. */
+    private CompletableFuture<Void> play(String white, String black) {
+        return create(white, black).thenCompose(id -> id == null ? done() : turn(id, white, black, 0));
+    }
+
+    private CompletableFuture<Void> turn(String id, String white, String black, int ply) {
+        if (System.nanoTime() > deadline) {
+            return done();
+        }
+        String[] move = MOVES[ply % MOVES.length];
+        String player = ply % 2 == 0 ? white : black;
+        String body = "{\"from\":\"" + move[0] + "\",\"to\":\"" + move[1] + "\",\"playerId\":\"" + player + "\"}";
+        return timed(reads, HttpRequest.newBuilder(URI.create(base + "/" + id)).GET())
+                .thenCompose(state -> timed(moves, HttpRequest.newBuilder(URI.create(base + "/" + id + "/moves"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))))
+                .thenCompose(after -> {
+                    if (after == null) {
+                        return done(); // counted as an error; this connection stops
+                    }
+                    if (after.contains(ONGOING)) {
+                        return turn(id, white, black, ply + 1);
+                    }
+                    games.incrementAndGet();
+                    return play(white, black);
+                });
+    }
+
+    private CompletableFuture<String> create(String white, String black) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"whitePlayer\":\"" + white + "\",\"blackPlayer\":\"" + black + "\"}"))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, ex) -> {
+                    if (ex != null || response.statusCode() != 200) {
+                        return null;
+                    }
+                    Matcher m = GAME_ID.matcher(response.body());
+                    return m.find() ? m.group(1) : null;
+                });
+    }
+
+    /** Sends a request and records its latency; completes with the body, or null on failure. */
+    private CompletableFuture<String> timed(Latencies latencies, HttpRequest.Builder request) {
+        long sent = System.nanoTime();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, ex) -> {
+                    if (ex != null || response.statusCode() != 200) {
+                        latencies.error();
+                        return null;
+                    }
+                    latencies.record(System.nanoTime() - sent);
+                    return response.body();
+                });
+    }
+
+    private static CompletableFuture<Void> done() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** Log-bucketed latency histogram (about 2% resolution) from 1 microsecond to over a minute. */
+    private static final class Latencies {
+        private static final double GROWTH = Math.log(1.02);
+        private static final int BUCKETS = 920;
+
+        private final String name;
+        private volatile AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        Latencies(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            long micros = Math.max(1, nanos / 1000);
+            int bucket = (int) Math.min(BUCKETS - 1, Math.log(micros) / GROWTH);
+            counts.incrementAndGet(bucket);
+            max.accumulateAndGet(micros, Math::max);
+        }
+
+        void error() {
+            errors.incrementAndGet();
+        }
+
+        void reset() {
+            counts = new AtomicLongArray(BUCKETS);
+            errors.set(0);
+            max.set(0);
+        }
+
+        void print(double seconds) {
+            AtomicLongArray c = counts;
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += c.get(i);
+            }
+            System.out.printf(Locale.ROOT, "%-9s %10d %10.0f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    name, total, total / seconds, percentile(c, total, 0.50), percentile(c, total, 0.99),
+                    percentile(c, total, 0.999), max.get() / 1000.0, errors.get());
+        }
+
+        private static double percentile(AtomicLongArray c, long total, double p) {
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += c.get(i);
+                if (seen >= rank && seen > 0) {
+                    return Math.exp((i + 1) * GROWTH) / 1000.0; // upper edge of the bucket, in ms
+                }
+            }
+            return 0;
+        }
+    }
+}
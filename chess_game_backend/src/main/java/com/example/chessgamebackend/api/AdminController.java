@@ -0,0 +1,106 @@
+package com.example.chessgamebackend.api;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.dto.PerftResponse;
+import com.example.chessgamebackend.engine.Perft;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Operational endpoints under /api/admin: move-generator validation and throughput.
+ *
+ * Perft runs on its own pool of chess.perft.threads workers, never on the common pool that caches and
+ * async work share. One run at a time: another request meanwhile is refused with 503. A run stops with
+ * 400 once its tree turns out to have more than chess.perft.max-nodes leaf nodes.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "/api/admin", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Admin", description = "Engine validation and throughput endpoints.")
+public class AdminController {
+
+    private static final int MAX_DEPTH = 6;
+    private static final String INITIAL_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private final Perft perft = new Perft();
+    private final ForkJoinPool pool;
+    private final Semaphore running = new Semaphore(1);
+    private final long maxNodes;
+
+    public AdminController(@Value("${chess.perft.threads:0}") int threads,
+                           @Value("${chess.perft.max-nodes:200000000}") long maxNodes) {
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.maxNodes = maxNodes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Runs a parallel perft from the given position and reports nodes per second.
+     */
+    @GetMapping("/perft")
+    @Operation(summary = "Perft", description = "Counts move-tree leaf nodes to the given depth, split across the perft pool, and reports "
+            + "throughput. 503 while another run is in progress, 400 if the tree exceeds chess.perft.max-nodes.")
+    public PerftResponse perft(
+            @RequestParam("depth") @Parameter(description = "Depth in plies (1-6)") int depth,
+            @RequestParam(value = "fen", required = false) @Parameter(description = "Root FEN; defaults to the initial position") String fen
+    ) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 1 and " + MAX_DEPTH);
+        }
+        String root = (fen == null || fen.isBlank()) ? INITIAL_FEN : fen;
+        Board board = new Board();
+        board.loadFEN(root);
+        Perft.Result r = exclusively(() -> perft.parallelPerft(board, depth, pool, maxNodes));
+        return new PerftResponse(null, root, depth, r.nodes(), null, null,
+                TimeUnit.NANOSECONDS.toMillis(r.elapsedNanos()), r.nodesPerSecond(), r.parallelism());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Checks the move generator against the standard perft reference positions.
+     */
+    @GetMapping("/perft/verify")
+    @Operation(summary = "Verify move generator", description = "Runs perft on the standard reference positions and compares against published node counts.")
+    public List<PerftResponse> verify(
+            @RequestParam(value = "maxDepth", defaultValue = "3") @Parameter(description = "Deepest depth to check (1-5)") int maxDepth
+    ) {
+        if (maxDepth < 1 || maxDepth > 5) {
+            throw new IllegalArgumentException("maxDepth must be between 1 and 5");
+        }
+        return exclusively(() -> perft.verify(maxDepth, pool)).stream()
+                .map(c -> new PerftResponse(c.position().name(), c.position().fen(), c.depth(), c.result().nodes(),
+                        c.expected(), c.passed(), TimeUnit.NANOSECONDS.toMillis(c.result().elapsedNanos()),
+                        c.result().nodesPerSecond(), c.result().parallelism()))
+                .toList();
+    }
+
+    private <T> T exclusively(Supplier<T> run) {
+        if (!running.tryAcquire()) {
+            throw new RejectedExecutionException("A perft run is already in progress");
+        }
+        try {
+            return run.get();
+        } finally {
+            running.release();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.chessgamebackend.api;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameWireCodec;
+import com.example.chessgamebackend.domain.Move;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.domain.PieceType;
+import com.example.chessgamebackend.dto.BatchMoveItem;
+import com.example.chessgamebackend.dto.BatchMoveRequest;
+import com.example.chessgamebackend.dto.BatchMoveResult;
+import com.example.chessgamebackend.dto.CreateGameRequest;
+import com.example.chessgamebackend.dto.CreateGameResponse;
+import com.example.chessgamebackend.dto.GameStateResponse;
+import com.example.chessgamebackend.dto.MakeMoveRequest;
+import com.example.chessgamebackend.dto.MoveHistoryResponse;
+import com.example.chessgamebackend.dto.MoveResponse;
+import com.example.chessgamebackend.service.MoveBatchService;
+import com.example.chessgamebackend.service.MoveCheck;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Request checks and response mapping of the /api/chess contract, shared by the servlet
+ * ({@link GameController}) and reactive ({@link ReactiveGameController}) controllers.
+ */
+final class GameApi {
+
+    static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    private GameApi() {}
+
+    static void checkCreate(CreateGameRequest request) {
+        Objects.requireNonNull(request, "request");
+        if (request.getWhitePlayer() == null || request.getWhitePlayer().isBlank()) {
+            throw new IllegalArgumentException("whitePlayer is required");
+        }
+    }
+
+    static CreateGameResponse created(Game game) {
+        return new CreateGameResponse(game.getId(), game.getStatus(), game.getTurn(), game.getCurrentFEN());
+    }
+
+    static Move move(MakeMoveRequest req) {
+        Objects.requireNonNull(req, "request");
+        if (req.getFrom() == null || req.getTo() == null || req.getPlayerId() == null) {
+            throw new IllegalArgumentException("from, to, and playerId are required");
+        }
+        return move(req.getFrom(), req.getTo(), req.getPromotion());
+    }
+
+    private static Move move(String from, String to, String promotion) {
+        PieceType promo = null;
+        if (promotion != null && !promotion.isBlank()) {
+            promo = PieceType.valueOf(promotion.toUpperCase(Locale.ROOT));
+            if (promo == PieceType.KING || promo == PieceType.PAWN) {
+                throw new IllegalArgumentException("Promotion must be QUEEN, ROOK, BISHOP or KNIGHT");
+            }
+        }
+        return new Move(from, to, promo);
+    }
+
+    /** Malformed items fail the whole request; illegal moves are reported per item. */
+    static List<MoveBatchService.Item> batchItems(BatchMoveRequest request) {
+        Objects.requireNonNull(request, "request");
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("items are required");
+        }
+        List<MoveBatchService.Item> items = new ArrayList<>(request.getItems().size());
+        for (int i = 0; i < request.getItems().size(); i++) {
+            BatchMoveItem item = request.getItems().get(i);
+            try {
+                Objects.requireNonNull(item, "item");
+                boolean hasFen = item.getFen() != null && !item.getFen().isBlank();
+                if ((item.getGameId() != null) == hasFen) {
+                    throw new IllegalArgumentException("exactly one of gameId and fen is required");
+                }
+                if (item.getFrom() == null || item.getTo() == null) {
+                    throw new IllegalArgumentException("from and to are required");
+                }
+                if (request.isApply() && item.getGameId() != null && item.getPlayerId() == null) {
+                    throw new IllegalArgumentException("playerId is required to apply a move to a game");
+                }
+                int move = PackedMove.of(move(item.getFrom(), item.getTo(), item.getPromotion()));
+                items.add(new MoveBatchService.Item(item.getGameId(), hasFen ? item.getFen() : null, item.getPlayerId(), move));
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw new IllegalArgumentException("items[" + i + "]: " + ex.getMessage());
+            }
+        }
+        return items;
+    }
+
+    static BatchMoveResult batchResult(MoveBatchService.Item item, MoveCheck check, int index) {
+        return new BatchMoveResult(index, item.gameId(), check.legal(), check.san(), check.status(), check.fen(), check.error());
+    }
+
+    static void checkHistoryPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+    }
+
+    static MoveHistoryResponse history(UUID id, int page, int size, Page<GameMove> moves) {
+        List<MoveResponse> entries = moves.getContent().stream()
+                .map(m -> new MoveResponse(m.getPly(), m.getFromSquare(), m.getToSquare(), m.getPromotion(), m.getSan(), m.getPlayedAt()))
+                .toList();
+        return new MoveHistoryResponse(id, page, size, moves.getTotalElements(), entries);
+    }
+
+    /** The ply to resume an update stream after: the Last-Event-ID of a reconnecting client wins. */
+    static Integer afterPly(Integer afterPly, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return afterPly;
+        }
+        try {
+            return Integer.valueOf(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Last-Event-ID must be a ply number");
+        }
+    }
+
+    static ResponseEntity<GameStateResponse> state(Game g) {
+        return ResponseEntity.ok().eTag(Long.toString(g.getVersion())).body(toState(g, null));
+    }
+
+    static ResponseEntity<byte[]> binaryState(Game g) {
+        return ResponseEntity.ok().eTag(Long.toString(g.getVersion())).body(GameWireCodec.encodeState(g));
+    }
+
+    static ResponseEntity<byte[]> binaryMoved(Game g, int move) {
+        return ResponseEntity.ok().eTag(Long.toString(g.getVersion())).body(GameWireCodec.encodeMoved(g, move));
+    }
+
+    static <T> ResponseEntity<T> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(Long.toString(version)).build();
+    }
+
+    /** If-None-Match holds a list of (possibly weak) entity tags, or "*". */
+    static boolean etagMatches(String ifNoneMatch, long version) {
+        String tag = "\"" + version + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) {
+                c = c.substring(2);
+            }
+            if (c.equals(tag) || c.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static GameStateResponse toState(Game g, Move last) {
+        int moves = Board.fullmoveNumber(g.getCurrentFEN());
+        String lastStr = last != null ? last.toString() : null;
+        return new GameStateResponse(
+                g.getId(),
+                g.getStatus(),
+                g.getTurn(),
+                g.getWhitePlayerId(),
+                g.getBlackPlayerId(),
+                g.getCurrentFEN(),
+                lastStr,
+                moves,
+                g.getUpdatedAt(),
+                g.getPlyCount()
+        );
+    }
+}
@@ -1,37 +1,68 @@
 package com.example.chessgamebackend.api;
 
-import com.example.chessgamebackend.domain.*;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameWireCodec;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.dto.BatchMoveRequest;
 import com.example.chessgamebackend.dto.CreateGameRequest;
 import com.example.chessgamebackend.dto.CreateGameResponse;
 import com.example.chessgamebackend.dto.GameStateResponse;
 import com.example.chessgamebackend.dto.MakeMoveRequest;
-import com.example.chessgamebackend.engine.MoveValidator;
+import com.example.chessgamebackend.dto.MoveHistoryResponse;
 import com.example.chessgamebackend.service.GameService;
+import com.example.chessgamebackend.service.GameUpdatePublisher;
+import com.example.chessgamebackend.service.MoveBatchService;
+import com.example.chessgamebackend.service.PlayedMove;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+
+import static com.example.chessgamebackend.api.GameApi.*;
 
 /**
  * PUBLIC_INTERFACE
- * REST API for chess games under /api/chess.
+ * REST API for chess games under /api/chess on the servlet stack (the default web application type);
+ * {@link ReactiveGameController} serves the same contract when running reactive.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/api/chess", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Chess", description = "Endpoints to create games, join, query state, make moves, and resign.")
 public class GameController {
 
     private final GameService service;
+    private final MoveBatchService batches;
+    private final ObjectMapper json;
+    private final Duration pushTimeout;
+    private final Duration maxLongPoll;
 
-    public GameController(GameService service) {
+    public GameController(GameService service,
+                          MoveBatchService batches,
+                          ObjectMapper json,
+                          @Value("${chess.push.timeout:30m}") Duration pushTimeout,
+                          @Value("${chess.long-poll.max-wait:60s}") Duration maxLongPoll) {
         this.service = service;
+        this.batches = batches;
+        this.json = json;
+        this.pushTimeout = pushTimeout;
+        this.maxLongPoll = maxLongPoll;
     }
 
     /**
@@ -42,12 +73,9 @@ public class GameController {
     @Operation(summary = "Create game", description = "Creates a new chess game with white and optional black player.")
     @ApiResponse(responseCode = "200", description = "Game created")
     public CreateGameResponse createGame(@RequestBody CreateGameRequest request) {
-        Objects.requireNonNull(request, "request");
-        if (request.getWhitePlayer() == null || request.getWhitePlayer().isBlank()) {
-            throw new IllegalArgumentException("whitePlayer is required");
-        }
+        checkCreate(request);
         Game game = service.createGame(request.getWhitePlayer(), request.getBlackPlayer());
-        return new CreateGameResponse(game.getId(), game.getStatus(), game.getTurn(), game.getCurrentFEN());
+        return created(game);
     }
 
     /**
@@ -69,11 +97,74 @@ public class GameController {
      * Get current game state.
      */
     @GetMapping("/games/{id}")
-    @Operation(summary = "Get game state", description = "Returns game state for the given game id.")
+    @Operation(summary = "Get game state", description = "Returns game state for the given game id. The ETag is the game's version; "
+            + "a request whose If-None-Match still matches is answered with 304 from memory.")
     @ApiResponse(responseCode = "200", description = "Game state", content = @Content(schema = @Schema(implementation = GameStateResponse.class)))
-    public GameStateResponse getGame(@PathVariable("id") UUID id) {
-        Game g = service.getGame(id);
-        return toState(g, null);
+    @ApiResponse(responseCode = "304", description = "Not modified since the version in If-None-Match")
+    public ResponseEntity<GameStateResponse> getGame(
+            @PathVariable("id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            long known = service.knownVersion(id);
+            if (known >= 0 && etagMatches(ifNoneMatch, known)) {
+                return notModified(known);
+            }
+        }
+        return state(service.getGame(id));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Get current game state in the compact binary format.
+     */
+    @GetMapping(value = "/games/{id}", produces = GameWireCodec.MEDIA_TYPE)
+    @Operation(summary = "Get game state (binary)", description = "Returns the game state as a binary STATE message (see GameWireCodec): "
+            + "version, ply count, status and the position in about 42 bytes, without player ids. ETag and If-None-Match as for JSON. "
+            + "Errors are JSON, so clients should also accept application/json.")
+    public ResponseEntity<byte[]> getGameBinary(
+            @PathVariable("id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            long known = service.knownVersion(id);
+            if (known >= 0 && etagMatches(ifNoneMatch, known)) {
+                return notModified(known);
+            }
+        }
+        return binaryState(service.getGame(id));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Long poll for the next game state.
+     */
+    @GetMapping(value = "/games/{id}", params = "sinceVersion")
+    @Operation(summary = "Wait for game state", description = "Long poll: answers with the game state as soon as its version (the ETag "
+            + "of the state) is newer than sinceVersion, or with 304 once waitMs has passed. No server thread is held while waiting.")
+    @ApiResponse(responseCode = "200", description = "Game state", content = @Content(schema = @Schema(implementation = GameStateResponse.class)))
+    @ApiResponse(responseCode = "304", description = "No newer version within waitMs")
+    public DeferredResult<ResponseEntity<GameStateResponse>> awaitGame(
+            @PathVariable("id") UUID id,
+            @RequestParam("sinceVersion") @Parameter(description = "Version the client already has") long sinceVersion,
+            @RequestParam(value = "waitMs", defaultValue = "25000") @Parameter(description = "Longest wait in milliseconds") long waitMs
+    ) {
+        if (waitMs < 0 || waitMs > maxLongPoll.toMillis()) {
+            throw new IllegalArgumentException("waitMs must be between 0 and " + maxLongPoll.toMillis());
+        }
+        DeferredResult<ResponseEntity<GameStateResponse>> result = new DeferredResult<>(waitMs, notModified(sinceVersion));
+        if (service.knownVersion(id) < 0) {
+            // Not indexed: reading the game indexes it (or reports it missing)
+            Game g = service.getGame(id);
+            if (g.getVersion() > sinceVersion) {
+                result.setResult(state(g));
+                return result;
+            }
+        }
+        // Called on the writer's thread with its committed state; setting the result only dispatches the response
+        Runnable stop = service.awaitNewerGame(id, sinceVersion, g -> result.setResult(state(g)));
+        result.onCompletion(stop);
+        return result;
     }
 
     /**
@@ -86,20 +177,55 @@ public class GameController {
             @PathVariable("id") UUID id,
             @RequestBody MakeMoveRequest req
     ) {
-        Objects.requireNonNull(req, "request");
-        if (req.getFrom() == null || req.getTo() == null || req.getPlayerId() == null) {
-            throw new IllegalArgumentException("from, to, and playerId are required");
-        }
-        PieceType promo = null;
-        if (req.getPromotion() != null && !req.getPromotion().isBlank()) {
-            promo = PieceType.valueOf(req.getPromotion().toUpperCase(Locale.ROOT));
-            if (promo != PieceType.QUEEN) {
-                throw new IllegalArgumentException("Only queen promotion supported in MVP");
+        PlayedMove played = service.makeMove(id, req.getPlayerId(), PackedMove.of(move(req)));
+        return toState(played.game(), PackedMove.toMove(played.move()));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Make a move sent in the compact binary format.
+     */
+    @PostMapping(value = "/games/{id}/moves", consumes = GameWireCodec.MEDIA_TYPE, produces = GameWireCodec.MEDIA_TYPE)
+    @Operation(summary = "Make move (binary)", description = "Takes a binary MOVE message (16-bit move and player id) and answers with "
+            + "a MOVED message: version, ply count, status and the move as played (a promotion sent without a piece comes back "
+            + "as a queen promotion), for the client to apply to its own copy of the position.")
+    public ResponseEntity<byte[]> makeMoveBinary(
+            @PathVariable("id") UUID id,
+            @RequestBody byte[] body
+    ) {
+        GameWireCodec.MoveCommand command = GameWireCodec.decodeMove(body);
+        PlayedMove played = service.makeMove(id, command.playerId(), command.move());
+        return binaryMoved(played.game(), played.move());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Check or play many moves across games and positions in one request.
+     */
+    @PostMapping(value = "/moves/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Batch moves", description = "Checks (or with apply, plays) up to chess.batch.max-items moves, each on a game or "
+            + "a FEN. Moves of one game run as one command in request order and different games run in parallel. One result per "
+            + "item is streamed as a JSON line, in request order; an illegal move is a result with legal=false, not an error.")
+    public ResponseEntity<ResponseBodyEmitter> batchMoves(@RequestBody BatchMoveRequest request) {
+        List<MoveBatchService.Item> items = batchItems(request);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        batches.run(items, request.isApply(), (check, index) -> {
+            try {
+                byte[] result = json.writeValueAsBytes(batchResult(items.get(index), check, index));
+                byte[] line = Arrays.copyOf(result, result.length + 1);
+                line[result.length] = '\n';
+                emitter.send(line, MediaType.APPLICATION_NDJSON);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); // the client went away
             }
-        }
-        Move move = new Move(req.getFrom(), req.getTo(), promo);
-        Game g = service.makeMove(id, req.getPlayerId(), move);
-        return toState(g, move);
+        }).whenComplete((done, ex) -> {
+            if (ex == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
     }
 
     /**
@@ -128,38 +254,76 @@ public class GameController {
             @PathVariable("id") UUID id,
             @RequestParam("from") @Parameter(description = "Source square like e2") String from
     ) {
-        Game g = service.getGame(id);
-        Board b = new Board();
-        b.loadFEN(g.getCurrentFEN());
-        MoveValidator mv = new MoveValidator();
-        List<Move> legals = mv.generateLegalMoves(b, b.getSideToMove());
-        return legals.stream()
-                .filter(m -> m.getFrom().equalsIgnoreCase(from))
-                .map(Move::getTo)
-                .sorted()
-                .collect(Collectors.toList());
+        return service.legalMoves(id).getOrDefault(from.toLowerCase(Locale.ROOT), List.of());
     }
 
-    private GameStateResponse toState(Game g, Move last) {
-        // Extract fullmove number from FEN (last number)
-        String[] fenParts = g.getCurrentFEN().split("\\s+");
-        int moves = 1;
-        if (fenParts.length >= 6) {
-            try {
-                moves = Integer.parseInt(fenParts[5]);
-            } catch (Exception ignored) {}
-        }
-        String lastStr = last != null ? last.toString() : null;
-        return new GameStateResponse(
-                g.getId(),
-                g.getStatus(),
-                g.getTurn(),
-                g.getWhitePlayerId(),
-                g.getBlackPlayerId(),
-                g.getCurrentFEN(),
-                lastStr,
-                moves,
-                g.getUpdatedAt()
-        );
+    /**
+     * PUBLIC_INTERFACE
+     * Get all legal moves of the side to move, grouped by from-square.
+     */
+    @GetMapping("/games/{id}/legal-moves/all")
+    @Operation(summary = "All legal moves", description = "Returns every legal move of the side to move as a map of from-square to target squares.")
+    public Map<String, List<String>> allLegalMoves(@PathVariable("id") UUID id) {
+        return service.legalMoves(id);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Page through a game's moves.
+     */
+    @GetMapping("/games/{id}/moves")
+    @Operation(summary = "Move history", description = "Returns one page of the game's moves in the order they were played.")
+    public MoveHistoryResponse moveHistory(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "page", defaultValue = "0") @Parameter(description = "Zero-based page index") int page,
+            @RequestParam(value = "size", defaultValue = "100") @Parameter(description = "Moves per page (1-" + MAX_HISTORY_PAGE_SIZE + ")") int size
+    ) {
+        checkHistoryPage(page, size);
+        return history(id, page, size, service.moveHistory(id, page, size));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Full move history in the compact binary format (2 bytes per move, see MoveHistoryCodec).
+     */
+    @GetMapping(value = "/games/{id}/moves", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Binary move history", description = "Returns every move of the game in the compact binary history format: "
+            + "\"MH\", version byte, flags byte, then one big-endian 16-bit entry per move (from | to << 6 | promotion << 12).")
+    public byte[] encodedMoveHistory(@PathVariable("id") UUID id) {
+        return service.encodedMoveHistory(id);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Stream of game updates (Server-Sent Events) instead of polling the game state.
+     */
+    @GetMapping(value = "/games/{id}/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Game updates", description = "Pushes each move, join and game end as a Server-Sent Event with the ply "
+            + "as its id. Moves played after afterPly (or after the Last-Event-ID of a reconnecting client) are sent first; "
+            + "without either, only updates from now on. A client that falls behind gets one \"state\" event with the current "
+            + "position in place of the updates it missed. The stream ends when the game is over.")
+    public ResponseEntity<ResponseBodyEmitter> updates(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "afterPly", required = false) @Parameter(description = "Last ply already seen, e.g. plyCount of the game state") Integer afterPly,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Integer after = afterPly(afterPly, lastEventId);
+        // Frames arrive as complete Server-Sent Events, shared by all subscribers, and are written as they are
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(pushTimeout.toMillis());
+        GameUpdatePublisher.Subscription subscription = service.subscribe(id, after, new GameUpdatePublisher.Subscriber() {
+            @Override
+            public void send(byte[] frame) throws IOException {
+                emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
     }
 }
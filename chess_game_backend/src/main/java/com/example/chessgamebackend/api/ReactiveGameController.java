@@ -0,0 +1,316 @@
+package com.example.chessgamebackend.api;
+
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameWireCodec;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.dto.BatchMoveRequest;
+import com.example.chessgamebackend.dto.BatchMoveResult;
+import com.example.chessgamebackend.dto.CreateGameRequest;
+import com.example.chessgamebackend.dto.CreateGameResponse;
+import com.example.chessgamebackend.dto.GameStateResponse;
+import com.example.chessgamebackend.dto.MakeMoveRequest;
+import com.example.chessgamebackend.dto.MoveHistoryResponse;
+import com.example.chessgamebackend.service.GameService;
+import com.example.chessgamebackend.service.GameUpdatePublisher;
+import com.example.chessgamebackend.service.MoveBatchService;
+import com.example.chessgamebackend.service.PlayedMove;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static com.example.chessgamebackend.api.GameApi.*;
+
+/**
+ * PUBLIC_INTERFACE
+ * The /api/chess contract of {@link GameController} on WebFlux, active when the application runs as a
+ * reactive web application (profile "reactive", which also selects the in-memory journal store).
+ *
+ * Event-loop threads never run game commands: every call into {@link GameService} (move validation,
+ * legal-move generation, store access) is offloaded to a bounded "chess-engine" scheduler of
+ * chess.reactive.engine-threads threads with at most chess.reactive.engine-queue waiting calls; beyond that
+ * requests are refused with 503 instead of queueing without limit. Waiting is free: long polls and update
+ * streams hold no thread until the game changes.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/api/chess", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Chess", description = "Endpoints to create games, join, query state, make moves, and resign.")
+public class ReactiveGameController {
+
+    private final GameService service;
+    private final MoveBatchService batches;
+    private final Scheduler engine;
+    private final Duration pushTimeout;
+    private final Duration maxLongPoll;
+    private final int pushBufferSize;
+
+    public ReactiveGameController(GameService service,
+                                  MoveBatchService batches,
+                                  @Value("${chess.reactive.engine-threads:0}") int engineThreads,
+                                  @Value("${chess.reactive.engine-queue:10000}") int engineQueue,
+                                  @Value("${chess.push.timeout:30m}") Duration pushTimeout,
+                                  @Value("${chess.push.buffer-size:64}") int pushBufferSize,
+                                  @Value("${chess.long-poll.max-wait:60s}") Duration maxLongPoll) {
+        this.service = service;
+        this.batches = batches;
+        int threads = engineThreads > 0 ? engineThreads : Runtime.getRuntime().availableProcessors();
+        this.engine = Schedulers.newBoundedElastic(threads, engineQueue, "chess-engine");
+        this.pushTimeout = pushTimeout;
+        this.pushBufferSize = pushBufferSize;
+        this.maxLongPoll = maxLongPoll;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        engine.dispose();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Creates a new game.
+     */
+    @PostMapping(value = "/games", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create game", description = "Creates a new chess game with white and optional black player.")
+    public Mono<CreateGameResponse> createGame(@RequestBody CreateGameRequest request) {
+        checkCreate(request);
+        return onEngine(() -> created(service.createGame(request.getWhitePlayer(), request.getBlackPlayer())));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Join a game as black if available.
+     */
+    @PostMapping("/games/{id}/join")
+    @Operation(summary = "Join game", description = "Joins an existing game as black if the slot is empty.")
+    public Mono<GameStateResponse> joinGame(@PathVariable("id") UUID id, @RequestParam("playerId") String playerId) {
+        return onEngine(() -> toState(service.joinGame(id, playerId), null));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Get current game state, answering a matching If-None-Match with 304 from memory.
+     */
+    @GetMapping("/games/{id}")
+    @Operation(summary = "Get game state", description = "Returns game state for the given game id, with its version as ETag.")
+    public Mono<ResponseEntity<GameStateResponse>> getGame(
+            @PathVariable("id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            long known = service.knownVersion(id);
+            if (known >= 0 && etagMatches(ifNoneMatch, known)) {
+                return Mono.just(notModified(known));
+            }
+        }
+        return onEngine(() -> state(service.getGame(id)));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Get current game state in the compact binary format.
+     */
+    @GetMapping(value = "/games/{id}", produces = GameWireCodec.MEDIA_TYPE)
+    @Operation(summary = "Get game state (binary)", description = "Returns the game state as a binary STATE message (see GameWireCodec).")
+    public Mono<ResponseEntity<byte[]>> getGameBinary(
+            @PathVariable("id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            long known = service.knownVersion(id);
+            if (known >= 0 && etagMatches(ifNoneMatch, known)) {
+                return Mono.just(notModified(known));
+            }
+        }
+        return onEngine(() -> binaryState(service.getGame(id)));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Long poll for the next game state.
+     */
+    @GetMapping(value = "/games/{id}", params = "sinceVersion")
+    @Operation(summary = "Wait for game state", description = "Answers with the game state once its version is newer than "
+            + "sinceVersion, or with 304 after waitMs.")
+    public Mono<ResponseEntity<GameStateResponse>> awaitGame(
+            @PathVariable("id") UUID id,
+            @RequestParam("sinceVersion") long sinceVersion,
+            @RequestParam(value = "waitMs", defaultValue = "25000") long waitMs
+    ) {
+        if (waitMs < 0 || waitMs > maxLongPoll.toMillis()) {
+            throw new IllegalArgumentException("waitMs must be between 0 and " + maxLongPoll.toMillis());
+        }
+        // Not indexed: reading the game indexes it (or reports it missing)
+        Mono<Game> unindexed = onEngine(() -> service.knownVersion(id) < 0 ? service.getGame(id) : null);
+        Mono<ResponseEntity<GameStateResponse>> next = Mono.<Game>create(sink ->
+                        sink.onDispose(service.awaitNewerGame(id, sinceVersion, sink::success)::run))
+                .timeout(Duration.ofMillis(waitMs), Mono.empty())
+                // The committed state arrives on the writer's thread and is only mapped there
+                .map(GameApi::state)
+                .defaultIfEmpty(notModified(sinceVersion));
+        return unindexed
+                .filter(g -> g.getVersion() > sinceVersion)
+                .map(GameApi::state)
+                .switchIfEmpty(Mono.defer(() -> next));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Make a move.
+     */
+    @PostMapping(value = "/games/{id}/moves", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Make move", description = "Makes a move if legal and updates game position.")
+    public Mono<GameStateResponse> makeMove(@PathVariable("id") UUID id, @RequestBody MakeMoveRequest req) {
+        int move = PackedMove.of(move(req));
+        return onEngine(() -> {
+            PlayedMove played = service.makeMove(id, req.getPlayerId(), move);
+            return toState(played.game(), PackedMove.toMove(played.move()));
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Make a move sent in the compact binary format.
+     */
+    @PostMapping(value = "/games/{id}/moves", consumes = GameWireCodec.MEDIA_TYPE, produces = GameWireCodec.MEDIA_TYPE)
+    @Operation(summary = "Make move (binary)", description = "Takes a binary MOVE message and answers with a MOVED message.")
+    public Mono<ResponseEntity<byte[]>> makeMoveBinary(@PathVariable("id") UUID id, @RequestBody byte[] body) {
+        GameWireCodec.MoveCommand command = GameWireCodec.decodeMove(body);
+        return onEngine(() -> {
+            PlayedMove played = service.makeMove(id, command.playerId(), command.move());
+            return binaryMoved(played.game(), played.move());
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Check or play many moves across games and positions in one request, results streamed in request order.
+     */
+    @PostMapping(value = "/moves/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Batch moves", description = "Checks (or with apply, plays) many moves, one JSON line per item in request order.")
+    public Flux<BatchMoveResult> batchMoves(@RequestBody BatchMoveRequest request) {
+        List<MoveBatchService.Item> items = batchItems(request);
+        // Runs on the batch pool, which bounds it like the engine scheduler
+        return Flux.create(sink -> batches.run(items, request.isApply(),
+                        (check, index) -> sink.next(batchResult(items.get(index), check, index)))
+                .whenComplete((done, ex) -> {
+                    if (ex == null) {
+                        sink.complete();
+                    } else {
+                        sink.error(ex);
+                    }
+                }));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Resign a game.
+     */
+    @PostMapping("/games/{id}/resign")
+    @Operation(summary = "Resign", description = "Resign the game by the calling player.")
+    public Mono<GameStateResponse> resign(@PathVariable("id") UUID id, @RequestParam("playerId") String playerId) {
+        return onEngine(() -> toState(service.resign(id, playerId), null));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Legal move targets from a square.
+     */
+    @GetMapping("/games/{id}/legal-moves")
+    @Operation(summary = "Legal moves", description = "Returns legal move targets from a given square.")
+    public Mono<List<String>> legalMoves(@PathVariable("id") UUID id, @RequestParam("from") String from) {
+        return onEngine(() -> service.legalMoves(id).getOrDefault(from.toLowerCase(Locale.ROOT), List.of()));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * All legal moves of the side to move, grouped by from-square.
+     */
+    @GetMapping("/games/{id}/legal-moves/all")
+    @Operation(summary = "All legal moves", description = "Returns every legal move of the side to move as a map of from-square to target squares.")
+    public Mono<Map<String, List<String>>> allLegalMoves(@PathVariable("id") UUID id) {
+        return onEngine(() -> service.legalMoves(id));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Page through a game's moves.
+     */
+    @GetMapping("/games/{id}/moves")
+    @Operation(summary = "Move history", description = "Returns one page of the game's moves in the order they were played.")
+    public Mono<MoveHistoryResponse> moveHistory(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "100") int size
+    ) {
+        checkHistoryPage(page, size);
+        return onEngine(() -> history(id, page, size, service.moveHistory(id, page, size)));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Full move history in the compact binary format.
+     */
+    @GetMapping(value = "/games/{id}/moves", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Binary move history", description = "Returns every move of the game in the compact binary history format.")
+    public Mono<byte[]> encodedMoveHistory(@PathVariable("id") UUID id) {
+        return onEngine(() -> service.encodedMoveHistory(id));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Stream of game updates (Server-Sent Events), as on the servlet stack. A client that stops reading for
+     * chess.push.buffer-size updates loses the stream and resumes with Last-Event-ID.
+     */
+    @GetMapping(value = "/games/{id}/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Game updates", description = "Pushes each move, join and game end as a Server-Sent Event with the ply as its id.")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updates(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "afterPly", required = false) Integer afterPly,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Integer after = afterPly(afterPly, lastEventId);
+        // The shared, already encoded frames are wrapped rather than copied
+        Flux<DataBuffer> frames = Flux.<DataBuffer>create(sink -> {
+                    GameUpdatePublisher.Subscription subscription = service.subscribe(id, after, new GameUpdatePublisher.Subscriber() {
+                        @Override
+                        public void send(byte[] frame) {
+                            sink.next(DefaultDataBufferFactory.sharedInstance.wrap(frame));
+                        }
+
+                        @Override
+                        public void complete() {
+                            sink.complete();
+                        }
+                    });
+                    sink.onDispose(subscription::cancel);
+                })
+                .subscribeOn(engine)
+                .onBackpressureBuffer(pushBufferSize)
+                .take(pushTimeout);
+        return Mono.just(ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(frames));
+    }
+
+    /** Runs a blocking service call on the engine scheduler; a null result completes empty. */
+    private <T> Mono<T> onEngine(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(engine);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.chessgamebackend.api;
+
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.dto.GameUpdateResponse;
+import com.example.chessgamebackend.service.GameUpdate;
+import com.example.chessgamebackend.service.GameUpdateEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * PUBLIC_INTERFACE
+ * Encodes pushed game updates as complete Server-Sent Events: the ply as event id, the update type as
+ * event name, and a {@link GameUpdateResponse} as JSON data.
+ */
+@Component
+public class SseGameUpdateEncoder implements GameUpdateEncoder {
+
+    private final ObjectMapper mapper;
+
+    public SseGameUpdateEncoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public byte[] encode(GameUpdate u) {
+        GameMove m = u.move();
+        GameUpdateResponse data = m == null
+                ? new GameUpdateResponse(u.type().name(), u.ply(), null, null, null, null, u.status(), u.turn(),
+                        u.playerId(), null)
+                : new GameUpdateResponse(u.type().name(), u.ply(), m.getFromSquare(), m.getToSquare(), m.getPromotion(),
+                        m.getSan(), u.status(), u.turn(), null, null);
+        return event(u.ply(), u.type().name().toLowerCase(Locale.ROOT), data);
+    }
+
+    @Override
+    public byte[] encodeState(GameUpdate u) {
+        return event(u.ply(), "state",
+                new GameUpdateResponse("STATE", u.ply(), null, null, null, null, u.status(), u.turn(), null, u.fen()));
+    }
+
+    private byte[] event(int ply, String name, GameUpdateResponse data) {
+        try {
+            // Jackson writes JSON on a single line, so it fits one data field
+            String json = mapper.writeValueAsString(data);
+            return ("id: " + ply + "\nevent: " + name + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode game update", ex);
+        }
+    }
+}
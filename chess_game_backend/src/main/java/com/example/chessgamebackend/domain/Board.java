@@ -1,170 +1,365 @@
 package com.example.chessgamebackend.domain;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.Locale;
 
 /**
  * PUBLIC_INTERFACE
- * Board representation with minimal FEN support for piece placement and active color.
+ * Bitboard board representation with minimal FEN support for piece placement and active color.
+ *
+ * Squares are indexed 0..63 as rank * 8 + file, so a1 = 0, h1 = 7 and a8 = 56. The position is
+ * kept as one 64-bit mask per piece type and color, per-color occupancy and total occupancy,
+ * plus a square-indexed mailbox for O(1) piece lookup. A 64-bit {@link Zobrist} key of the
+ * position is kept up to date by every change to pieces, side to move, castling rights and en passant.
+ *
  * MVP caveats:
- * - En passant is not tracked (always '-').
- * - Castling availability is recomputed simply based on king/rook starting positions and move history approximation.
+ * - The en passant square is only kept (and written to FEN) when a capture onto it is possible.
+ * - Castling rights from FEN are only honoured when the king/rook are still on their starting squares.
  * - Halfmove/fullmove counters are tracked minimally.
  */
 public class Board {
 
-    private final Piece[][] squares; // [rank][file] 0..7, rank 0 is 8th rank (top), file 0 is 'a'
+    /** Castling right bits, in FEN order. */
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final String[] SQUARE_NAMES = new String[64];
+
+    /** Shared instances used when restoring captured pieces and placing promotions, by pieceIndex. */
+    private static final Piece[] PIECES = new Piece[12];
+
+    /** Castling rights kept when a move touches the square (king and rook start squares clear rights). */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            SQUARE_NAMES[sq] = "" + (char) ('a' + (sq & 7)) + (char) ('1' + (sq >>> 3));
+        }
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[pieceIndex(type, color)] = Piece.of(type, color);
+            }
+        }
+        Arrays.fill(CASTLING_MASK, WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASK[0] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASK[7] &= ~WHITE_KINGSIDE;
+        CASTLING_MASK[4] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASK[56] &= ~BLACK_QUEENSIDE;
+        CASTLING_MASK[63] &= ~BLACK_KINGSIDE;
+        CASTLING_MASK[60] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+    }
+
+    private final long[] pieceBitboards = new long[12]; // indexed by pieceIndex(type, color)
+    private final long[] colorBitboards = new long[2];
+    private long occupied;
+    private final Piece[] mailbox = new Piece[64];
     private Color sideToMove;
-    private boolean whiteKingMoved = false;
-    private boolean blackKingMoved = false;
-    private boolean whiteKingsideRookMoved = false;
-    private boolean whiteQueensideRookMoved = false;
-    private boolean blackKingsideRookMoved = false;
-    private boolean blackQueensideRookMoved = false;
+    private int castlingRights;
+    private int enPassantSquare = -1;
     private int halfmoveClock = 0;
     private int fullmoveNumber = 1;
+    private long zobristKey;
+    private String cachedFEN;          // null when the position changed since the last toFEN()
+    private StringBuilder fenBuilder;  // reused by toFEN()
 
     public Board() {
-        this.squares = new Piece[8][8];
     }
 
     /**
      * PUBLIC_INTERFACE
      * Initializes board from the given FEN string (only standard fields).
+     * Parsed in a single pass over the characters; fields after the active color are optional.
      * @param fen valid FEN
      */
     public void loadFEN(String fen) {
-        String[] parts = fen.trim().split("\\s+");
-        if (parts.length < 2) {
+        int len = fen.length();
+        int pos = skipSpaces(fen, 0);
+        if (pos >= len) {
             throw new IllegalArgumentException("Invalid FEN: " + fen);
         }
         // clear
-        for (Piece[] row : squares) Arrays.fill(row, null);
-
-        String placement = parts[0];
-        String active = parts[1];
-
-        String[] ranks = placement.split("/");
-        if (ranks.length != 8) {
-            throw new IllegalArgumentException("Invalid FEN ranks: " + placement);
-        }
-        for (int r = 0; r < 8; r++) {
-            int file = 0;
-            String rank = ranks[r];
-            for (int i = 0; i < rank.length(); i++) {
-                char c = rank.charAt(i);
-                if (Character.isDigit(c)) {
-                    file += (c - '0');
-                } else {
-                    Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
-                    PieceType type = switch (Character.toLowerCase(c)) {
-                        case 'k' -> PieceType.KING;
-                        case 'q' -> PieceType.QUEEN;
-                        case 'r' -> PieceType.ROOK;
-                        case 'b' -> PieceType.BISHOP;
-                        case 'n' -> PieceType.KNIGHT;
-                        case 'p' -> PieceType.PAWN;
-                        default -> throw new IllegalArgumentException("Bad piece: " + c);
-                    };
-                    setPiece(7 - r, file, new Piece(type, color)); // convert rank: fen top is rank 8
-                    file++;
-                }
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(colorBitboards, 0L);
+        Arrays.fill(mailbox, null);
+        occupied = 0L;
+        zobristKey = 0L;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        sideToMove = Color.WHITE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        cachedFEN = null;
+
+        // Placement: ranks 8..1 separated by '/'
+        int rank = 7;
+        int file = 0;
+        int rankStart = pos;
+        for (; pos < len && fen.charAt(pos) > ' '; pos++) {
+            char c = fen.charAt(pos);
+            if (c == '/') {
+                if (file != 8 || rank == 0) throw new IllegalArgumentException("Bad rank width: " + fen.substring(rankStart, pos));
+                rank--;
+                file = 0;
+                rankStart = pos + 1;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+                if (file > 8) throw new IllegalArgumentException("Bad rank width: " + fen.substring(rankStart, pos + 1));
+            } else {
+                Piece piece = Piece.fromFenChar(c);
+                if (piece == null) throw new IllegalArgumentException("Bad piece: " + c);
+                if (file > 7) throw new IllegalArgumentException("Bad rank width: " + fen.substring(rankStart, pos + 1));
+                setPiece(rank * 8 + file, piece);
+                file++;
             }
-            if (file != 8) throw new IllegalArgumentException("Bad rank width: " + rank);
         }
+        if (rank != 0) {
+            throw new IllegalArgumentException("Invalid FEN ranks: " + fen);
+        }
+        if (file != 8) throw new IllegalArgumentException("Bad rank width: " + fen.substring(rankStart, pos));
 
-        this.sideToMove = "w".equalsIgnoreCase(active) ? Color.WHITE : Color.BLACK;
+        pos = skipSpaces(fen, pos);
+        if (pos >= len) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        char active = fen.charAt(pos);
+        boolean white = (active == 'w' || active == 'W') && (pos + 1 == len || fen.charAt(pos + 1) <= ' ');
+        setSideToMove(white ? Color.WHITE : Color.BLACK);
+        pos = skipSpaces(fen, skipField(fen, pos));
 
         // Optional fields
-        if (parts.length > 4) {
-            try {
-                this.halfmoveClock = Integer.parseInt(parts[4]);
-            } catch (Exception ignored) { this.halfmoveClock = 0; }
+        int rights = castlingRightsFromStartingSquares();
+        if (pos < len) {
+            int end = skipField(fen, pos);
+            rights &= parseCastlingRights(fen, pos, end);
+            pos = skipSpaces(fen, end);
         }
-        if (parts.length > 5) {
-            try {
-                this.fullmoveNumber = Integer.parseInt(parts[5]);
-            } catch (Exception ignored) { this.fullmoveNumber = 1; }
+        setCastlingRights(rights);
+        if (pos < len) {
+            int end = skipField(fen, pos);
+            if (!(end - pos == 1 && fen.charAt(pos) == '-')) {
+                char f = Character.toLowerCase(fen.charAt(pos));
+                char r = end - pos == 2 ? fen.charAt(pos + 1) : 0;
+                if (f < 'a' || f > 'h' || (r != '3' && r != '6')) {
+                    throw new IllegalArgumentException("Bad en passant square: " + fen.substring(pos, end));
+                }
+                setEnPassantSquare((r - '1') * 8 + (f - 'a'), sideToMove.opposite());
+            }
+            pos = skipSpaces(fen, end);
+        }
+        if (pos < len) {
+            int end = skipField(fen, pos);
+            this.halfmoveClock = parseCounter(fen, pos, end, 0);
+            pos = skipSpaces(fen, end);
+        }
+        if (pos < len) {
+            this.fullmoveNumber = parseCounter(fen, pos, skipField(fen, pos), 1);
         }
-
-        // Movement flags approximated by starting positions
-        inferMovementFlagsFromStartingSquares();
     }
 
     /**
      * PUBLIC_INTERFACE
      * Returns a FEN string for the current position.
+     * The string is cached until the position changes.
      * @return FEN
      */
     public String toFEN() {
-        StringBuilder sb = new StringBuilder();
+        if (cachedFEN == null) {
+            if (fenBuilder == null) {
+                fenBuilder = new StringBuilder(90);
+            }
+            fenBuilder.setLength(0);
+            appendFEN(fenBuilder);
+            cachedFEN = fenBuilder.toString();
+        }
+        return cachedFEN;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Writes the FEN of the current position to the given builder.
+     * @param sb destination
+     */
+    public void appendFEN(StringBuilder sb) {
         for (int r = 7; r >= 0; r--) {
             int empty = 0;
             for (int f = 0; f < 8; f++) {
-                Piece p = squares[r][f];
+                Piece p = mailbox[r * 8 + f];
                 if (p == null) {
                     empty++;
                 } else {
                     if (empty > 0) {
-                        sb.append(empty);
+                        sb.append((char) ('0' + empty));
                         empty = 0;
                     }
-                    String s = p.toString();
-                    sb.append(s);
+                    sb.append(p.getFenChar());
                 }
             }
-            if (empty > 0) sb.append(empty);
+            if (empty > 0) sb.append((char) ('0' + empty));
             if (r > 0) sb.append('/');
         }
         sb.append(' ');
         sb.append(sideToMove == Color.WHITE ? 'w' : 'b');
         sb.append(' ');
-        String castling = computeCastlingRights();
-        sb.append(castling.isEmpty() ? "-" : castling);
+        if (castlingRights == 0) {
+            sb.append('-');
+        } else {
+            if ((castlingRights & WHITE_KINGSIDE) != 0) sb.append('K');
+            if ((castlingRights & WHITE_QUEENSIDE) != 0) sb.append('Q');
+            if ((castlingRights & BLACK_KINGSIDE) != 0) sb.append('k');
+            if ((castlingRights & BLACK_QUEENSIDE) != 0) sb.append('q');
+        }
         sb.append(' ');
-        sb.append('-'); // en passant square not tracked in MVP
+        sb.append(enPassantSquare == -1 ? "-" : squareName(enPassantSquare));
         sb.append(' ');
         sb.append(halfmoveClock);
         sb.append(' ');
         sb.append(fullmoveNumber);
-        return sb.toString();
     }
 
-    private String computeCastlingRights() {
-        StringBuilder sb = new StringBuilder();
-        if (!whiteKingMoved) {
-            if (!whiteKingsideRookMoved && getPiece(0, 7) != null && getPiece(0,7).isType(PieceType.ROOK) && getPiece(0,7).is(Color.WHITE))
-                sb.append('K');
-            if (!whiteQueensideRookMoved && getPiece(0, 0) != null && getPiece(0,0).isType(PieceType.ROOK) && getPiece(0,0).is(Color.WHITE))
-                sb.append('Q');
+    /**
+     * PUBLIC_INTERFACE
+     * Reads the fullmove number (sixth field) of a FEN without parsing the position.
+     * @param fen FEN string
+     * @return fullmove number, or 1 if the field is missing or not a number
+     */
+    public static int fullmoveNumber(String fen) {
+        int fields = 0;
+        for (int pos = skipSpaces(fen, 0); pos < fen.length(); pos = skipSpaces(fen, pos)) {
+            int end = skipField(fen, pos);
+            if (++fields == 6) {
+                return parseCounter(fen, pos, end, 1);
+            }
+            pos = end;
         }
-        if (!blackKingMoved) {
-            if (!blackKingsideRookMoved && getPiece(7, 7) != null && getPiece(7,7).isType(PieceType.ROOK) && getPiece(7,7).is(Color.BLACK))
-                sb.append('k');
-            if (!blackQueensideRookMoved && getPiece(7, 0) != null && getPiece(7,0).isType(PieceType.ROOK) && getPiece(7,0).is(Color.BLACK))
-                sb.append('q');
+        return 1;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Locates the fields of a FEN in one scan, without parsing the position or allocating. Fields are separated
+     * by any run of whitespace.
+     * @param fen FEN string
+     * @param bounds receives the start (inclusive) and end (exclusive) of field i at bounds[2i] and bounds[2i + 1];
+     *               fields beyond bounds.length / 2 are not read
+     * @return number of fields located
+     */
+    public static int fenFields(String fen, int[] bounds) {
+        int fields = 0;
+        for (int pos = skipSpaces(fen, 0); pos < fen.length() && 2 * fields < bounds.length; pos = skipSpaces(fen, pos)) {
+            int end = skipField(fen, pos);
+            bounds[2 * fields] = pos;
+            bounds[2 * fields + 1] = end;
+            fields++;
+            pos = end;
         }
-        return sb.toString();
+        return fields;
     }
 
-    private void inferMovementFlagsFromStartingSquares() {
-        // If kings are not on starting squares, mark moved
-        Piece wk = getPiece(0, 4);
-        if (wk == null || !wk.isType(PieceType.KING) || !wk.is(Color.WHITE)) whiteKingMoved = true;
-        Piece bk = getPiece(7, 4);
-        if (bk == null || !bk.isType(PieceType.KING) || !bk.is(Color.BLACK)) blackKingMoved = true;
+    private static int skipSpaces(String s, int pos) {
+        while (pos < s.length() && s.charAt(pos) <= ' ') pos++;
+        return pos;
+    }
 
-        Piece wrr = getPiece(0, 7);
-        if (wrr == null || !wrr.isType(PieceType.ROOK) || !wrr.is(Color.WHITE)) whiteKingsideRookMoved = true;
-        Piece wrl = getPiece(0, 0);
-        if (wrl == null || !wrl.isType(PieceType.ROOK) || !wrl.is(Color.WHITE)) whiteQueensideRookMoved = true;
+    private static int skipField(String s, int pos) {
+        while (pos < s.length() && s.charAt(pos) > ' ') pos++;
+        return pos;
+    }
 
-        Piece brr = getPiece(7, 7);
-        if (brr == null || !brr.isType(PieceType.ROOK) || !brr.is(Color.BLACK)) blackKingsideRookMoved = true;
-        Piece brl = getPiece(7, 0);
-        if (brl == null || !brl.isType(PieceType.ROOK) || !brl.is(Color.BLACK)) blackQueensideRookMoved = true;
+    /**
+     * PUBLIC_INTERFACE
+     * Reads a FEN counter field located with {@link #fenFields}.
+     * @return the non-negative decimal in s[start, end), or the fallback if it is empty, not a number or too large
+     */
+    public static int parseCounter(String s, int start, int end, int fallback) {
+        if (start >= end || end - start > 9) return fallback;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return fallback;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int parseCastlingRights(String fen, int start, int end) {
+        int rights = 0;
+        for (int i = start; i < end; i++) {
+            switch (fen.charAt(i)) {
+                case 'K' -> rights |= WHITE_KINGSIDE;
+                case 'Q' -> rights |= WHITE_QUEENSIDE;
+                case 'k' -> rights |= BLACK_KINGSIDE;
+                case 'q' -> rights |= BLACK_QUEENSIDE;
+                case '-' -> { }
+                default -> throw new IllegalArgumentException("Bad castling field: " + fen.substring(start, end));
+            }
+        }
+        return rights;
+    }
+
+    private int castlingRightsFromStartingSquares() {
+        int rights = 0;
+        if (isPieceAt(4, PieceType.KING, Color.WHITE)) {
+            if (isPieceAt(7, PieceType.ROOK, Color.WHITE)) rights |= WHITE_KINGSIDE;
+            if (isPieceAt(0, PieceType.ROOK, Color.WHITE)) rights |= WHITE_QUEENSIDE;
+        }
+        if (isPieceAt(60, PieceType.KING, Color.BLACK)) {
+            if (isPieceAt(63, PieceType.ROOK, Color.BLACK)) rights |= BLACK_KINGSIDE;
+            if (isPieceAt(56, PieceType.ROOK, Color.BLACK)) rights |= BLACK_QUEENSIDE;
+        }
+        return rights;
+    }
+
+    private void setCastlingRights(int rights) {
+        zobristKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        castlingRights = rights;
+    }
+
+    /**
+     * Records the square passed over by a double pawn push, but only when a pawn of
+     * the capturing color stands beside the pushed pawn, so FEN and key stay canonical.
+     */
+    private void setEnPassantSquare(int square, Color pushedBy) {
+        if (enPassantSquare != -1) {
+            zobristKey ^= Zobrist.enPassantFile(enPassantSquare & 7);
+            enPassantSquare = -1;
+        }
+        if (square == -1) return;
+        int pawnSquare = pushedBy == Color.WHITE ? square + 8 : square - 8;
+        if (pawnSquare < 0 || pawnSquare > 63 || !isPieceAt(pawnSquare, PieceType.PAWN, pushedBy)) return;
+        Color capturer = pushedBy.opposite();
+        int file = square & 7;
+        boolean capturable = (file > 0 && isPieceAt(pawnSquare - 1, PieceType.PAWN, capturer))
+                || (file < 7 && isPieceAt(pawnSquare + 1, PieceType.PAWN, capturer));
+        if (capturable) {
+            enPassantSquare = square;
+            zobristKey ^= Zobrist.enPassantFile(file);
+        }
+    }
+
+    private boolean isPieceAt(int square, PieceType type, Color color) {
+        Piece p = mailbox[square];
+        return p != null && p.isType(type) && p.is(color);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return independent copy of this position
+     */
+    public Board copy() {
+        Board b = new Board();
+        System.arraycopy(pieceBitboards, 0, b.pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(colorBitboards, 0, b.colorBitboards, 0, colorBitboards.length);
+        System.arraycopy(mailbox, 0, b.mailbox, 0, mailbox.length);
+        b.occupied = occupied;
+        b.sideToMove = sideToMove;
+        b.castlingRights = castlingRights;
+        b.enPassantSquare = enPassantSquare;
+        b.halfmoveClock = halfmoveClock;
+        b.fullmoveNumber = fullmoveNumber;
+        b.zobristKey = zobristKey;
+        b.cachedFEN = cachedFEN;
+        return b;
     }
 
     /**
@@ -176,47 +371,288 @@ public class Board {
     }
 
     public Piece getPiece(int rank, int file) {
-        return squares[rank][file];
+        return mailbox[rank * 8 + file];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param square square index 0..63 (a1 = 0)
+     * @return piece on the square or null
+     */
+    public Piece getPiece(int square) {
+        return mailbox[square];
     }
 
     public void setPiece(int rank, int file, Piece piece) {
-        squares[rank][file] = piece;
+        setPiece(rank * 8 + file, piece);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Places (or with null, removes) a piece, keeping bitboards and mailbox in sync.
+     * @param square square index 0..63 (a1 = 0)
+     * @param piece piece to place or null to clear
+     */
+    public void setPiece(int square, Piece piece) {
+        cachedFEN = null;
+        long bit = 1L << square;
+        Piece old = mailbox[square];
+        if (old != null) {
+            int index = pieceIndex(old.getType(), old.getColor());
+            pieceBitboards[index] &= ~bit;
+            zobristKey ^= Zobrist.piece(index, square);
+            colorBitboards[old.getColor().ordinal()] &= ~bit;
+            occupied &= ~bit;
+        }
+        mailbox[square] = piece;
+        if (piece != null) {
+            int index = pieceIndex(piece.getType(), piece.getColor());
+            pieceBitboards[index] |= bit;
+            zobristKey ^= Zobrist.piece(index, square);
+            colorBitboards[piece.getColor().ordinal()] |= bit;
+            occupied |= bit;
+        }
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return mask of squares holding pieces of the given type and color
+     */
+    public long getBitboard(PieceType type, Color color) {
+        return pieceBitboards[pieceIndex(type, color)];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return mask of squares occupied by the given color
+     */
+    public long getOccupancy(Color color) {
+        return colorBitboards[color.ordinal()];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return mask of all occupied squares
+     */
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return current castling rights as a combination of the WHITE_/BLACK_ side bits
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return square a pawn may capture onto en passant, or -1
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    private static int pieceIndex(PieceType type, Color color) {
+        return color.ordinal() * 6 + type.ordinal();
     }
 
     public static int fileOf(String square) {
-        return square.toLowerCase(Locale.ROOT).charAt(0) - 'a';
+        return Character.toLowerCase(square.charAt(0)) - 'a';
     }
 
     public static int rankOf(String square) {
         return (square.charAt(1) - '1');
     }
 
+    /**
+     * PUBLIC_INTERFACE
+     * @param square algebraic square like e2
+     * @return square index 0..63 (a1 = 0)
+     * @throws IllegalArgumentException if the text is not a square
+     */
+    public static int squareIndex(String square) {
+        if (square == null || square.length() != 2) {
+            throw new IllegalArgumentException("Invalid square: " + square);
+        }
+        int file = fileOf(square);
+        int rank = rankOf(square);
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new IllegalArgumentException("Invalid square: " + square);
+        }
+        return rank * 8 + file;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param square square index 0..63 (a1 = 0)
+     * @return shared algebraic name like e2
+     */
+    public static String squareName(int square) {
+        return SQUARE_NAMES[square];
+    }
+
     public Color getSideToMove() {
         return sideToMove;
     }
 
     public void setSideToMove(Color sideToMove) {
+        cachedFEN = null;
+        if ((this.sideToMove == Color.BLACK) != (sideToMove == Color.BLACK)) {
+            zobristKey ^= Zobrist.blackToMove();
+        }
         this.sideToMove = sideToMove;
     }
 
-    public void noteKingOrRookMove(int fromRank, int fromFile, Piece moved) {
-        if (moved.isType(PieceType.KING)) {
-            if (moved.is(Color.WHITE)) whiteKingMoved = true; else blackKingMoved = true;
-        } else if (moved.isType(PieceType.ROOK)) {
-            if (moved.is(Color.WHITE)) {
-                if (fromRank == 0 && fromFile == 0) whiteQueensideRookMoved = true;
-                if (fromRank == 0 && fromFile == 7) whiteKingsideRookMoved = true;
+    /**
+     * PUBLIC_INTERFACE
+     * @return Zobrist key of the current position (placement, side to move, castling rights)
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Plays a move in place without legality checks (callers validate first) and returns
+     * an undo record that {@link #unmakeMove(long)} uses to restore the previous position.
+     * Handles castling rook moves, promotion, castling rights, counters and side to move.
+     * @param move move to play; the moving piece must be on the from square
+     * @return packed undo record
+     */
+    public long makeMove(Move move) {
+        return makeMove(squareIndex(move.getFrom()), squareIndex(move.getTo()), move.getPromotion());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * {@link PackedMove} variant of {@link #makeMove(Move)}; generation flags are ignored.
+     * @param move packed move
+     * @return packed undo record (its low 15 bits are the move's core)
+     */
+    public long makeMove(int move) {
+        return makeMove(PackedMove.from(move), PackedMove.to(move), PackedMove.promotion(move));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Square-index variant of {@link #makeMove(Move)}.
+     * @param from from square index
+     * @param to to square index
+     * @param promotion promotion piece type or null
+     * @return packed undo record
+     */
+    public long makeMove(int from, int to, PieceType promotion) {
+        Piece moved = mailbox[from];
+        if (moved == null) {
+            throw new IllegalArgumentException("No piece on " + squareName(from));
+        }
+        Color mover = moved.getColor();
+        boolean pawnMove = moved.isType(PieceType.PAWN);
+        boolean promotes = promotion != null && pawnMove;
+        int captureSquare = to;
+        if (pawnMove && to == enPassantSquare) {
+            captureSquare = mover == Color.WHITE ? to - 8 : to + 8;
+        }
+        Piece captured = mailbox[captureSquare];
+
+        // Undo layout: from(6) | to(6) | promotion(3) | captured(4) | castling(4) | en passant + 1(7) | halfmove clock(32)
+        long undo = from
+                | (long) to << 6
+                | (long) (promotes ? promotion.ordinal() + 1 : 0) << 12
+                | (long) (captured == null ? 0 : pieceIndex(captured.getType(), captured.getColor()) + 1) << 15
+                | (long) castlingRights << 19
+                | (long) (enPassantSquare + 1) << 23
+                | (long) halfmoveClock << 32;
+
+        if (captureSquare != to) {
+            setPiece(captureSquare, null);
+        }
+        setPiece(from, null);
+        if (moved.isType(PieceType.KING) && isCastling(from, to)) {
+            int rankBase = from & ~7;
+            if ((to & 7) == 6) {
+                setPiece(rankBase + 5, mailbox[rankBase + 7]);
+                setPiece(rankBase + 7, null);
             } else {
-                if (fromRank == 7 && fromFile == 0) blackQueensideRookMoved = true;
-                if (fromRank == 7 && fromFile == 7) blackKingsideRookMoved = true;
+                setPiece(rankBase + 3, mailbox[rankBase]);
+                setPiece(rankBase, null);
             }
         }
-    }
+        setPiece(to, promotes ? PIECES[pieceIndex(promotion, mover)] : moved);
 
-    public void incrementMove(Color mover, boolean wasCaptureOrPawn) {
+        setCastlingRights(castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to]);
+        setEnPassantSquare(pawnMove && Math.abs(to - from) == 16 ? (from + to) >>> 1 : -1, mover);
+        halfmoveClock = (captured != null || pawnMove) ? 0 : halfmoveClock + 1;
         if (mover == Color.BLACK) {
             fullmoveNumber += 1;
         }
-        halfmoveClock = wasCaptureOrPawn ? 0 : halfmoveClock + 1;
+        setSideToMove(mover.opposite());
+        return undo;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Restores the position from before the {@link #makeMove} call that returned the record.
+     * Moves must be unmade in reverse order.
+     * @param undo record returned by makeMove
+     */
+    public void unmakeMove(long undo) {
+        int from = (int) undo & 63;
+        int to = (int) (undo >>> 6) & 63;
+        int promotion = (int) (undo >>> 12) & 7;
+        int captured = (int) (undo >>> 15) & 15;
+
+        int enPassant = ((int) (undo >>> 23) & 127) - 1;
+
+        Piece placed = mailbox[to];
+        Color mover = placed.getColor();
+        Piece moved = promotion != 0 ? PIECES[pieceIndex(PieceType.PAWN, mover)] : placed;
+        Piece restored = captured == 0 ? null : PIECES[captured - 1];
+
+        if (moved.isType(PieceType.PAWN) && to == enPassant) {
+            setPiece(to, null);
+            setPiece(mover == Color.WHITE ? to - 8 : to + 8, restored);
+        } else {
+            setPiece(to, restored);
+        }
+        setPiece(from, moved);
+        if (moved.isType(PieceType.KING) && isCastling(from, to)) {
+            int rankBase = from & ~7;
+            if ((to & 7) == 6) {
+                setPiece(rankBase + 7, mailbox[rankBase + 5]);
+                setPiece(rankBase + 5, null);
+            } else {
+                setPiece(rankBase, mailbox[rankBase + 3]);
+                setPiece(rankBase + 3, null);
+            }
+        }
+
+        setCastlingRights((int) (undo >>> 19) & 15);
+        if (enPassantSquare != -1) {
+            zobristKey ^= Zobrist.enPassantFile(enPassantSquare & 7);
+        }
+        enPassantSquare = enPassant;
+        if (enPassant != -1) {
+            zobristKey ^= Zobrist.enPassantFile(enPassant & 7);
+        }
+        halfmoveClock = (int) (undo >>> 32);
+        if (mover == Color.BLACK) {
+            fullmoveNumber -= 1;
+        }
+        setSideToMove(mover);
+    }
+
+    private static boolean isCastling(int from, int to) {
+        return (from >>> 3) == (to >>> 3) && Math.abs(to - from) == 2;
     }
 }
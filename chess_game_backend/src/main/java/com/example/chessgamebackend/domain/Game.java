@@ -3,7 +3,9 @@ package com.example.chessgamebackend.domain;
 import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -20,7 +22,7 @@ public class Game {
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
-    @Column(nullable = false, length = 128)
+    @Column(name = "current_fen", nullable = false, length = 128)
     private String currentFEN;
 
     @Enumerated(EnumType.STRING)
@@ -38,7 +40,20 @@ public class Game {
     private String blackPlayerId;
 
     @Lob
-    private String moveHistory; // simple text/json history
+    private String moveHistory; // legacy JSON history; moves are now rows in game_moves
+
+    @Lob
+    private byte[] moveData; // archived moves (MoveHistoryCodec) preceding the rows in game_moves
+
+    @Column(nullable = false)
+    private int plyCount; // half-moves played, archived or in game_moves
+
+    @Lob
+    private byte[] positionKeys; // Zobrist keys since the last irreversible move, 8 bytes each
+
+    @Version
+    @Column(nullable = false)
+    private long version; // bumped by every write; a write against a stale version updates nothing
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -46,6 +61,38 @@ public class Game {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    /**
+     * PUBLIC_INTERFACE
+     * Rebuilds a game kept or read outside JPA (journal persistence, JDBC reads) with its identity, timestamps and version.
+     */
+    public static Game restore(UUID id, Instant createdAt, Instant updatedAt, long version) {
+        Game g = new Game();
+        g.id = id;
+        g.createdAt = createdAt;
+        g.updatedAt = updatedAt;
+        g.version = version;
+        return g;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Detached copy of the game's current state, for readers that must not see later changes to this one.
+     * The byte arrays are shared, since they are replaced rather than changed in place.
+     */
+    public Game copy() {
+        Game g = restore(id, createdAt, updatedAt, version);
+        g.currentFEN = currentFEN;
+        g.status = status;
+        g.turn = turn;
+        g.whitePlayerId = whitePlayerId;
+        g.blackPlayerId = blackPlayerId;
+        g.moveHistory = moveHistory;
+        g.moveData = moveData;
+        g.plyCount = plyCount;
+        g.positionKeys = positionKeys;
+        return g;
+    }
+
     @PrePersist
     public void prePersist() {
         Instant now = Instant.now();
@@ -110,6 +157,65 @@ public class Game {
         this.moveHistory = moveHistory;
     }
 
+    public byte[] getMoveData() {
+        return moveData;
+    }
+
+    public void setMoveData(byte[] moveData) {
+        this.moveData = moveData;
+    }
+
+    public int getPlyCount() {
+        return plyCount;
+    }
+
+    public void setPlyCount(int plyCount) {
+        this.plyCount = plyCount;
+    }
+
+    public byte[] getPositionKeys() {
+        return positionKeys;
+    }
+
+    public void setPositionKeys(byte[] positionKeys) {
+        this.positionKeys = positionKeys;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Records the position reached after a move and returns how often it has now occurred.
+     * Only positions since the last irreversible move (capture or pawn move) are kept, since
+     * earlier ones can never repeat, so this is O(plies since that move).
+     * @param key Zobrist key of the position
+     * @param irreversible whether the move leading here reset the halfmove clock
+     * @return occurrences of the position including this one
+     */
+    public int recordPosition(long key, boolean irreversible) {
+        byte[] keys = (irreversible || positionKeys == null) ? new byte[0] : positionKeys;
+        ByteBuffer buf = ByteBuffer.wrap(keys);
+        int occurrences = 1;
+        // Same side to move only every second ply
+        for (int i = keys.length - 16; i >= 0; i -= 16) {
+            if (buf.getLong(i) == key) occurrences++;
+        }
+        byte[] next = Arrays.copyOf(keys, keys.length + 8);
+        ByteBuffer.wrap(next).putLong(keys.length, key);
+        positionKeys = next;
+        return occurrences;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Advances the in-memory version after {@code GameRepository.updateState} has incremented the stored one.
+     */
+    public void versionWritten() {
+        version++;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -117,4 +223,8 @@ public class Game {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,154 @@
+package com.example.chessgamebackend.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * JPA entity for one played move, stored append-only in game_moves keyed by (gameId, ply).
+ * Rows are only ever inserted, so recording a move costs one small insert regardless of game length.
+ * When a game finishes its rows are folded into the compact Game.moveData archive and deleted.
+ */
+@Entity
+@Table(name = "game_moves")
+@IdClass(GameMove.Key.class)
+public class GameMove implements Persistable<GameMove.Key> {
+
+    @Id
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID gameId;
+
+    @Id
+    private int ply; // 1-based half-move number
+
+    @Column(nullable = false, length = 2)
+    private String fromSquare;
+
+    @Column(nullable = false, length = 2)
+    private String toSquare;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private PieceType promotion;
+
+    @Column(nullable = false, length = 10)
+    private String san;
+
+    @Column(nullable = false)
+    private long positionKey; // Zobrist key of the resulting position
+
+    @Column(nullable = false, updatable = false)
+    private Instant playedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected GameMove() {
+    }
+
+    public GameMove(UUID gameId, int ply, String fromSquare, String toSquare, PieceType promotion, String san,
+                    long positionKey, Instant playedAt) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.fromSquare = fromSquare;
+        this.toSquare = toSquare;
+        this.promotion = promotion;
+        this.san = san;
+        this.positionKey = positionKey;
+        this.playedAt = playedAt;
+    }
+
+    /**
+     * Rows are never updated, so a new instance is always inserted directly rather than merged
+     * (which would first select by the assigned key).
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(gameId, ply);
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getFromSquare() {
+        return fromSquare;
+    }
+
+    public String getToSquare() {
+        return toSquare;
+    }
+
+    public PieceType getPromotion() {
+        return promotion;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public long getPositionKey() {
+        return positionKey;
+    }
+
+    public Instant getPlayedAt() {
+        return playedAt;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Composite primary key (gameId, ply).
+     */
+    public static class Key implements Serializable {
+        private UUID gameId;
+        private int ply;
+
+        public Key() {
+        }
+
+        public Key(UUID gameId, int ply) {
+            this.gameId = gameId;
+            this.ply = ply;
+        }
+
+        public UUID getGameId() {
+            return gameId;
+        }
+
+        public int getPly() {
+            return ply;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return ply == other.ply && Objects.equals(gameId, other.gameId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(gameId, ply);
+        }
+    }
+}
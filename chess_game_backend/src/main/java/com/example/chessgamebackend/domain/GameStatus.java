@@ -8,5 +8,6 @@ public enum GameStatus {
     ONGOING,
     CHECKMATE,
     STALEMATE,
+    DRAW_BY_REPETITION,
     RESIGNED
 }
@@ -0,0 +1,214 @@
+package com.example.chessgamebackend.domain;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PUBLIC_INTERFACE
+ * Compact binary alternative to the JSON move request and game state, served as {@link #MEDIA_TYPE}.
+ *
+ * Every message (big-endian) starts with magic "GW" (2 bytes) | version (1 byte) | kind (1 byte).
+ * Counters are unsigned LEB128 varints; statuses and piece types are enum ordinals.
+ * <ul>
+ *   <li>{@link #MOVE} (request): move (16 bits, {@link PackedMove#core(int)}) | player id length (1 byte) | UTF-8 player id.</li>
+ *   <li>{@link #STATE}: version | ply count | status | position flags (bit 0: black to move, bits 1-4:
+ *       castling rights as in {@link Board}) | en passant square (64 = none) | halfmove clock | 32 bytes of
+ *       board, square a1 = 0 in the low nibble of the first byte, each nibble 0 (empty) or
+ *       type ordinal + 1, plus 8 for black. Players are not repeated; games start from the initial
+ *       position, so the fullmove number is ply count / 2 + 1.</li>
+ *   <li>{@link #MOVED} (reply to a move): version | ply count | status | the move as played (16 bits). The
+ *       client applies this move, not the one it sent, to its copy of the position instead of receiving the
+ *       position again: a pawn move to the last rank sent without a piece comes back as a queen promotion,
+ *       and a piece sent with a move that does not promote is dropped.</li>
+ * </ul>
+ * A state is about 42 bytes and a move reply under 12, against several hundred for the JSON state.
+ * Messages are encoded straight into an array of their exact size.
+ */
+public final class GameWireCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.chess+binary";
+    public static final int MAGIC = 0x4757; // "GW"
+    public static final int VERSION_1 = 1;
+    public static final int HEADER_SIZE = 4;
+
+    public static final int MOVE = 1;
+    public static final int STATE = 2;
+    public static final int MOVED = 3;
+
+    private static final int NO_SQUARE = 64;
+    private static final int BOARD_BYTES = 32;
+    private static final int BLACK = 8;
+
+    private GameWireCodec() {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * A decoded {@link #MOVE} request.
+     * @param move packed move without flags
+     * @param playerId player making the move
+     */
+    public record MoveCommand(int move, String playerId) {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param data encoded move request
+     * @return the move and player
+     * @throws IllegalArgumentException if the message is not a well-formed move request
+     */
+    public static MoveCommand decodeMove(byte[] data) {
+        checkHeader(data, MOVE);
+        if (data.length < HEADER_SIZE + 3) {
+            throw new IllegalArgumentException("Truncated move request");
+        }
+        int move = (data[HEADER_SIZE] & 0xFF) << 8 | data[HEADER_SIZE + 1] & 0xFF;
+        if ((move & ~0x7FFF) != 0) {
+            throw new IllegalArgumentException("Invalid move");
+        }
+        int promotion = move >>> 12; // PieceType ordinal + 1, 0 = none; 7 names no piece at all
+        if (promotion == PieceType.KING.ordinal() + 1 || promotion > PieceType.KNIGHT.ordinal() + 1) {
+            throw new IllegalArgumentException("Promotion must be QUEEN, ROOK, BISHOP or KNIGHT");
+        }
+        int length = data[HEADER_SIZE + 2] & 0xFF;
+        if (length == 0 || data.length != HEADER_SIZE + 3 + length) {
+            throw new IllegalArgumentException("Invalid player id length");
+        }
+        return new MoveCommand(move, new String(data, HEADER_SIZE + 3, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param move packed move (flags are dropped)
+     * @param playerId player making the move, at most 255 bytes of UTF-8
+     * @return encoded move request
+     */
+    public static byte[] encodeMove(int move, String playerId) {
+        byte[] player = playerId.getBytes(StandardCharsets.UTF_8);
+        if (player.length == 0 || player.length > 255) {
+            throw new IllegalArgumentException("playerId must be 1 to 255 bytes");
+        }
+        byte[] out = new byte[HEADER_SIZE + 3 + player.length];
+        int p = header(out, MOVE);
+        int core = PackedMove.core(move);
+        out[p++] = (byte) (core >>> 8);
+        out[p++] = (byte) core;
+        out[p++] = (byte) player.length;
+        System.arraycopy(player, 0, out, p, player.length);
+        return out;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param g game
+     * @return the game's full {@link #STATE}, read from its FEN without building a board
+     */
+    public static byte[] encodeState(Game g) {
+        String fen = g.getCurrentFEN();
+        int[] f = new int[10]; // placement, side to move, castling, en passant, halfmove clock
+        int fields = Board.fenFields(fen, f);
+        if (fields < 4) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        long version = g.getVersion();
+        int ply = g.getPlyCount();
+        byte[] out = new byte[HEADER_SIZE + varintSize(version) + varintSize(ply) + 4 + BOARD_BYTES];
+        int p = header(out, STATE);
+        p = writeVarint(out, p, version);
+        p = writeVarint(out, p, ply);
+        out[p++] = (byte) g.getStatus().ordinal();
+        boolean black = f[3] - f[2] == 1 && fen.charAt(f[2]) == 'b';
+        out[p++] = (byte) ((black ? 1 : 0) | castlingRights(fen, f[4], f[5]) << 1);
+        out[p++] = (byte) (f[7] - f[6] == 1 && fen.charAt(f[6]) == '-' ? NO_SQUARE : Board.squareIndex(fen.substring(f[6], f[7])));
+        out[p++] = (byte) (fields > 4 ? Math.min(255, Board.parseCounter(fen, f[8], f[9], 0)) : 0);
+        writeBoard(fen, f[0], f[1], out, p);
+        return out;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param g game after the move
+     * @param move the move as played, which may differ from the request in its promotion piece
+     * @return the {@link #MOVED} reply
+     */
+    public static byte[] encodeMoved(Game g, int move) {
+        long version = g.getVersion();
+        int ply = g.getPlyCount();
+        byte[] out = new byte[HEADER_SIZE + varintSize(version) + varintSize(ply) + 3];
+        int p = header(out, MOVED);
+        p = writeVarint(out, p, version);
+        p = writeVarint(out, p, ply);
+        out[p++] = (byte) g.getStatus().ordinal();
+        int core = PackedMove.core(move);
+        out[p++] = (byte) (core >>> 8);
+        out[p] = (byte) core;
+        return out;
+    }
+
+    private static void checkHeader(byte[] data, int kind) {
+        if (data == null || data.length < HEADER_SIZE || ((data[0] & 0xFF) << 8 | data[1] & 0xFF) != MAGIC) {
+            throw new IllegalArgumentException("Not a chess wire message");
+        }
+        if (data[2] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported wire version: " + data[2]);
+        }
+        if (data[3] != kind) {
+            throw new IllegalArgumentException("Unexpected message kind: " + data[3]);
+        }
+    }
+
+    private static int header(byte[] out, int kind) {
+        out[0] = (byte) (MAGIC >>> 8);
+        out[1] = (byte) MAGIC;
+        out[2] = VERSION_1;
+        out[3] = (byte) kind;
+        return HEADER_SIZE;
+    }
+
+    private static int castlingRights(String fen, int start, int end) {
+        int rights = 0;
+        for (int i = start; i < end; i++) {
+            switch (fen.charAt(i)) {
+                case 'K' -> rights |= Board.WHITE_KINGSIDE;
+                case 'Q' -> rights |= Board.WHITE_QUEENSIDE;
+                case 'k' -> rights |= Board.BLACK_KINGSIDE;
+                case 'q' -> rights |= Board.BLACK_QUEENSIDE;
+                default -> { }
+            }
+        }
+        return rights;
+    }
+
+    private static void writeBoard(String fen, int start, int end, byte[] out, int offset) {
+        int rank = 7;
+        int file = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+            } else {
+                Piece piece = Piece.fromFenChar(c);
+                int code = piece.getType().ordinal() + 1 + (piece.getColor() == Color.BLACK ? BLACK : 0);
+                int square = rank * 8 + file++;
+                out[offset + (square >> 1)] |= (byte) (code << ((square & 1) << 2));
+            }
+        }
+    }
+
+    private static int varintSize(long value) {
+        int n = 1;
+        while ((value >>>= 7) != 0) {
+            n++;
+        }
+        return n;
+    }
+
+    private static int writeVarint(byte[] out, int p, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[p++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out[p++] = (byte) value;
+        return p;
+    }
+}
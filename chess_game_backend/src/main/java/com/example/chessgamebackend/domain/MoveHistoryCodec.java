@@ -0,0 +1,160 @@
+package com.example.chessgamebackend.domain;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PUBLIC_INTERFACE
+ * Compact binary move-history format used for archived games and for transfer.
+ *
+ * Layout (big-endian): magic "MH" (2 bytes) | version (1 byte) | flags (1 byte, 0) | one 16-bit
+ * entry per ply. Version 1 entries are {@link PackedMove#core(int)}: from, to and promotion in the
+ * low 15 bits. That is 2 bytes per move against about 50 for the legacy JSON history.
+ * {@link Encoder} and {@link Decoder} stream the format; {@link #encode}/{@link #decode} wrap them for arrays.
+ */
+public final class MoveHistoryCodec {
+
+    public static final int MAGIC = 0x4D48; // "MH"
+    public static final int VERSION_1 = 1;
+    public static final int HEADER_SIZE = 4;
+
+    private static final Pattern LEGACY_ENTRY = Pattern.compile(
+            "\\{\\s*\"from\"\\s*:\\s*\"([a-hA-H][1-8])\"\\s*,\\s*\"to\"\\s*:\\s*\"([a-hA-H][1-8])\"\\s*,\\s*\"promotion\"\\s*:\\s*\"?(\\w+)\"?");
+
+    private MoveHistoryCodec() {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param moves packed moves in ply order (flags are dropped)
+     * @return encoded history
+     */
+    public static byte[] encode(int[] moves) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 2 * moves.length);
+        try (Encoder encoder = new Encoder(bytes)) {
+            for (int move : moves) {
+                encoder.write(move);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param data encoded history
+     * @return packed moves in ply order
+     * @throws IllegalArgumentException if the header is not a supported history header
+     */
+    public static int[] decode(byte[] data) {
+        int[] moves = new int[count(data)];
+        try (Decoder decoder = new Decoder(new ByteArrayInputStream(data))) {
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = decoder.next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return moves;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param data encoded history
+     * @return number of moves, read from the length without decoding
+     */
+    public static int count(byte[] data) {
+        if (data.length < HEADER_SIZE || (data.length - HEADER_SIZE) % 2 != 0) {
+            throw new IllegalArgumentException("Truncated move history");
+        }
+        return (data.length - HEADER_SIZE) / 2;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Converts the legacy JSON history ([{"from":"e2","to":"e4","promotion":"null"}, ...]) to moves.
+     * @param json legacy history
+     * @return packed moves in ply order
+     */
+    public static int[] fromLegacyJson(String json) {
+        int[] moves = new int[16];
+        int n = 0;
+        Matcher m = LEGACY_ENTRY.matcher(json);
+        while (m.find()) {
+            String promotion = m.group(3);
+            PieceType type = "null".equals(promotion) ? null : PieceType.valueOf(promotion.toUpperCase(Locale.ROOT));
+            if (n == moves.length) moves = Arrays.copyOf(moves, n * 2);
+            moves[n++] = PackedMove.of(Board.squareIndex(m.group(1)), Board.squareIndex(m.group(2)), type);
+        }
+        return Arrays.copyOf(moves, n);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Streaming writer; the header is written on construction.
+     */
+    public static final class Encoder implements Closeable {
+        private final DataOutputStream out;
+
+        public Encoder(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.writeShort(MAGIC);
+            this.out.writeByte(VERSION_1);
+            this.out.writeByte(0);
+        }
+
+        /**
+         * PUBLIC_INTERFACE
+         * @param move packed move (flags are dropped)
+         */
+        public void write(int move) throws IOException {
+            out.writeShort(PackedMove.core(move));
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Streaming reader; the header is read and checked on construction.
+     */
+    public static final class Decoder implements Closeable {
+        private final DataInputStream in;
+
+        public Decoder(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            int magic = this.in.readUnsignedShort();
+            int version = this.in.readUnsignedByte();
+            this.in.readUnsignedByte(); // flags, none defined yet
+            if (magic != MAGIC) {
+                throw new IllegalArgumentException("Not a move history");
+            }
+            if (version != VERSION_1) {
+                throw new IllegalArgumentException("Unsupported move history version: " + version);
+            }
+        }
+
+        /**
+         * PUBLIC_INTERFACE
+         * @return next packed move, or -1 at the end of the history
+         */
+        public int next() throws IOException {
+            int hi = in.read();
+            if (hi < 0) return -1;
+            int lo = in.read();
+            if (lo < 0) throw new EOFException("Truncated move history");
+            return (hi << 8) | lo;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.chessgamebackend.domain;
+
+/**
+ * PUBLIC_INTERFACE
+ * Moves packed into an int for allocation-free generation and application.
+ *
+ * Layout: from (bits 0-5) | to (bits 6-11) | promotion (bits 12-14, PieceType.ordinal() + 1, 0 = none).
+ * These low 15 bits identify the move and fit in 16 bits for storage ({@link #core(int)}).
+ * Generation adds informational flags in bits 16-19 (capture, en passant, castling, double push);
+ * flags are ignored when a move is applied.
+ */
+public final class PackedMove {
+
+    /** Not a move (a1-a1). */
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 16;
+    public static final int EN_PASSANT = 1 << 17;
+    public static final int CASTLING = 1 << 18;
+    public static final int DOUBLE_PUSH = 1 << 19;
+
+    private static final int CORE_MASK = 0x7FFF;
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private PackedMove() {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param from from square index 0..63
+     * @param to to square index 0..63
+     * @param promotion promotion piece type or null
+     * @return packed move without flags
+     */
+    public static int of(int from, int to, PieceType promotion) {
+        return from | to << 6 | (promotion == null ? 0 : promotion.ordinal() + 1) << 12;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param move move with algebraic squares
+     * @return packed move without flags
+     */
+    public static int of(Move move) {
+        return of(Board.squareIndex(move.getFrom()), Board.squareIndex(move.getTo()), move.getPromotion());
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return promotion piece type or null
+     */
+    public static PieceType promotion(int move) {
+        int code = (move >>> 12) & 7;
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    public static boolean has(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return the move without generation flags (fits in 16 bits)
+     */
+    public static int core(int move) {
+        return move & CORE_MASK;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Converts to the REST-facing {@link Move}.
+     */
+    public static Move toMove(int move) {
+        return new Move(Board.squareName(from(move)), Board.squareName(to(move)), promotion(move));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return the same text as {@link Move#toString()}, e.g. e7-e8=QUEEN
+     */
+    public static String toString(int move) {
+        PieceType promotion = promotion(move);
+        return Board.squareName(from(move)) + "-" + Board.squareName(to(move)) + (promotion != null ? "=" + promotion : "");
+    }
+}
@@ -1,18 +1,66 @@
 package com.example.chessgamebackend.domain;
 
-import java.util.Objects;
-
 /**
  * PUBLIC_INTERFACE
  * Immutable representation of a chess piece.
+ * There are exactly twelve instances (one per type and color), obtained with {@link #of},
+ * so pieces can be compared by identity and boards never allocate them.
  */
 public final class Piece {
+
+    private static final String FEN_CHARS = "kqrbnp"; // by PieceType ordinal
+    private static final Piece[][] INSTANCES = new Piece[Color.values().length][PieceType.values().length];
+
+    static {
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                INSTANCES[color.ordinal()][type.ordinal()] = new Piece(type, color);
+            }
+        }
+    }
+
     private final PieceType type;
     private final Color color;
+    private final char fenChar;
+    private final String text;
 
-    public Piece(PieceType type, Color color) {
-        this.type = Objects.requireNonNull(type, "type");
-        this.color = Objects.requireNonNull(color, "color");
+    private Piece(PieceType type, Color color) {
+        this.type = type;
+        this.color = color;
+        char c = FEN_CHARS.charAt(type.ordinal());
+        this.fenChar = color == Color.WHITE ? Character.toUpperCase(c) : c;
+        this.text = String.valueOf(fenChar);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return the shared instance for the type and color
+     */
+    public static Piece of(PieceType type, Color color) {
+        return INSTANCES[color.ordinal()][type.ordinal()];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param c FEN piece letter (uppercase white, lowercase black)
+     * @return the shared instance, or null if c is not a piece letter
+     */
+    public static Piece fromFenChar(char c) {
+        return switch (c) {
+            case 'K' -> of(PieceType.KING, Color.WHITE);
+            case 'Q' -> of(PieceType.QUEEN, Color.WHITE);
+            case 'R' -> of(PieceType.ROOK, Color.WHITE);
+            case 'B' -> of(PieceType.BISHOP, Color.WHITE);
+            case 'N' -> of(PieceType.KNIGHT, Color.WHITE);
+            case 'P' -> of(PieceType.PAWN, Color.WHITE);
+            case 'k' -> of(PieceType.KING, Color.BLACK);
+            case 'q' -> of(PieceType.QUEEN, Color.BLACK);
+            case 'r' -> of(PieceType.ROOK, Color.BLACK);
+            case 'b' -> of(PieceType.BISHOP, Color.BLACK);
+            case 'n' -> of(PieceType.KNIGHT, Color.BLACK);
+            case 'p' -> of(PieceType.PAWN, Color.BLACK);
+            default -> null;
+        };
     }
 
     public PieceType getType() {
@@ -23,6 +71,14 @@ public final class Piece {
         return color;
     }
 
+    /**
+     * PUBLIC_INTERFACE
+     * @return FEN piece letter (uppercase white, lowercase black)
+     */
+    public char getFenChar() {
+        return fenChar;
+    }
+
     public boolean is(Color c) {
         return color == c;
     }
@@ -33,16 +89,6 @@ public final class Piece {
 
     @Override
     public String toString() {
-        char c;
-        switch (type) {
-            case KING -> c = 'k';
-            case QUEEN -> c = 'q';
-            case ROOK -> c = 'r';
-            case BISHOP -> c = 'b';
-            case KNIGHT -> c = 'n';
-            case PAWN -> c = 'p';
-            default -> c = '?';
-        }
-        return color == Color.WHITE ? ("" + Character.toUpperCase(c)) : ("" + c);
+        return text;
     }
 }
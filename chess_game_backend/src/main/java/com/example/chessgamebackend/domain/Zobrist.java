@@ -0,0 +1,79 @@
+package com.example.chessgamebackend.domain;
+
+/**
+ * PUBLIC_INTERFACE
+ * Zobrist hashing keys for {@link Board}. A position key is the XOR of one key per occupied
+ * (piece, square), one for black to move, one per castling-rights combination and one per
+ * en passant file (only while an en passant capture is available).
+ *
+ * The keys come from a fixed-seed splitmix64 sequence so they are identical across runs.
+ * Keys are persisted with games for repetition detection: do not change the seed or order.
+ */
+public final class Zobrist {
+
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long BLACK_TO_MOVE;
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    static {
+        long[] state = {0x3243F6A8885A308DL};
+        for (int p = 0; p < 12; p++) {
+            for (int sq = 0; sq < 64; sq++) {
+                PIECE_SQUARE[p][sq] = splitMix64(state);
+            }
+        }
+        for (int i = 0; i < 16; i++) {
+            CASTLING[i] = splitMix64(state);
+        }
+        BLACK_TO_MOVE = splitMix64(state);
+        for (int f = 0; f < 8; f++) {
+            EN_PASSANT_FILE[f] = splitMix64(state);
+        }
+    }
+
+    private Zobrist() {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param pieceIndex color.ordinal() * 6 + type.ordinal()
+     * @param square square index 0..63 (a1 = 0)
+     * @return key for the piece on the square
+     */
+    public static long piece(int pieceIndex, int square) {
+        return PIECE_SQUARE[pieceIndex][square];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param rights castling rights mask (see Board constants)
+     * @return key for the castling rights combination
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return key XORed in when black is to move
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param file file 0..7 of the en passant square
+     * @return key for an available en passant capture on that file
+     */
+    public static long enPassantFile(int file) {
+        return EN_PASSANT_FILE[file];
+    }
+
+    private static long splitMix64(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
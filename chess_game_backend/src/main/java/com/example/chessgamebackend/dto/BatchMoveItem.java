@@ -0,0 +1,77 @@
+package com.example.chessgamebackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * One move of a batch: on a game (gameId) or on a position (fen), exactly one of the two.
+ */
+public class BatchMoveItem {
+
+    @Schema(description = "Game to check or play the move on")
+    private UUID gameId;
+
+    @Schema(description = "Position to check the move on, instead of a game", example = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1")
+    private String fen;
+
+    @Schema(description = "From square", example = "e7", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String from;
+
+    @Schema(description = "To square", example = "e5", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String to;
+
+    @Schema(description = "Promotion piece type: QUEEN, ROOK, BISHOP or KNIGHT", example = "QUEEN")
+    private String promotion;
+
+    @Schema(description = "Player making the move; required to apply a move to a game, checks the turn when given", example = "bob456")
+    private String playerId;
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getPromotion() {
+        return promotion;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setGameId(UUID gameId) {
+        this.gameId = gameId;
+    }
+
+    public void setFen(String fen) {
+        this.fen = fen;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public void setPromotion(String promotion) {
+        this.promotion = promotion;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+}
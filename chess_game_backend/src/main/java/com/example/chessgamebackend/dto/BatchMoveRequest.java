@@ -0,0 +1,34 @@
+package com.example.chessgamebackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * PUBLIC_INTERFACE
+ * Request to check or play many moves across games and positions in one call.
+ */
+public class BatchMoveRequest {
+
+    @Schema(description = "Play the legal moves (on a FEN: one after another from it) instead of only checking them", example = "false")
+    private boolean apply;
+
+    @Schema(description = "Moves in the order their results are returned", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BatchMoveItem> items;
+
+    public boolean isApply() {
+        return apply;
+    }
+
+    public List<BatchMoveItem> getItems() {
+        return items;
+    }
+
+    public void setApply(boolean apply) {
+        this.apply = apply;
+    }
+
+    public void setItems(List<BatchMoveItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.chessgamebackend.dto;
+
+import com.example.chessgamebackend.domain.GameStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * Outcome of one move of a batch, streamed in request order. Absent fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchMoveResult {
+
+    @Schema(description = "Position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Game of the item (game items)")
+    private UUID gameId;
+
+    @Schema(description = "Whether the move is legal; with apply, whether it was played")
+    private boolean legal;
+
+    @Schema(description = "Standard algebraic notation (legal moves)", example = "e5")
+    private String san;
+
+    @Schema(description = "Game status after the move (legal moves)")
+    private GameStatus status;
+
+    @Schema(description = "Position after the move (legal moves)")
+    private String fen;
+
+    @Schema(description = "Why the move was rejected", example = "Illegal move: e7-e4")
+    private String error;
+
+    public BatchMoveResult() {}
+
+    public BatchMoveResult(int index, UUID gameId, boolean legal, String san, GameStatus status, String fen, String error) {
+        this.index = index;
+        this.gameId = gameId;
+        this.legal = legal;
+        this.san = san;
+        this.status = status;
+        this.fen = fen;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public boolean isLegal() {
+        return legal;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public void setGameId(UUID gameId) {
+        this.gameId = gameId;
+    }
+
+    public void setLegal(boolean legal) {
+        this.legal = legal;
+    }
+
+    public void setSan(String san) {
+        this.san = san;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public void setFen(String fen) {
+        this.fen = fen;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
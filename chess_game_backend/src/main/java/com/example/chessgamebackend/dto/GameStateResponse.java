@@ -40,9 +40,12 @@ public class GameStateResponse {
     @Schema(description = "Updated timestamp")
     private Instant updatedAt;
 
+    @Schema(description = "Half-moves played; pass as afterPly when subscribing to updates")
+    private int plyCount;
+
     public GameStateResponse() {}
 
-    public GameStateResponse(UUID gameId, GameStatus status, Color turn, String whitePlayer, String blackPlayer, String fen, String lastMove, int movesCount, Instant updatedAt) {
+    public GameStateResponse(UUID gameId, GameStatus status, Color turn, String whitePlayer, String blackPlayer, String fen, String lastMove, int movesCount, Instant updatedAt, int plyCount) {
         this.gameId = gameId;
         this.status = status;
         this.turn = turn;
@@ -52,6 +55,7 @@ public class GameStateResponse {
         this.lastMove = lastMove;
         this.movesCount = movesCount;
         this.updatedAt = updatedAt;
+        this.plyCount = plyCount;
     }
 
     public UUID getGameId() {
@@ -90,6 +94,10 @@ public class GameStateResponse {
         return updatedAt;
     }
 
+    public int getPlyCount() {
+        return plyCount;
+    }
+
     public void setGameId(UUID gameId) {
         this.gameId = gameId;
     }
@@ -125,4 +133,8 @@ public class GameStateResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public void setPlyCount(int plyCount) {
+        this.plyCount = plyCount;
+    }
 }
@@ -0,0 +1,142 @@
+package com.example.chessgamebackend.dto;
+
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.PieceType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * PUBLIC_INTERFACE
+ * One pushed game update: a move delta, or (STATE) the full position for a client that fell behind.
+ * Absent fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameUpdateResponse {
+
+    @Schema(description = "Kind of update: MOVE, JOINED, FINISHED or STATE", example = "MOVE")
+    private String type;
+
+    @Schema(description = "Plies played after this update; for a move, its own half-move number", example = "1")
+    private int ply;
+
+    @Schema(description = "From square (MOVE)", example = "e2")
+    private String from;
+
+    @Schema(description = "To square (MOVE)", example = "e4")
+    private String to;
+
+    @Schema(description = "Promotion piece (MOVE, if any)")
+    private PieceType promotion;
+
+    @Schema(description = "Standard algebraic notation (MOVE)", example = "e4")
+    private String san;
+
+    @Schema(description = "Game status after the update")
+    private GameStatus status;
+
+    @Schema(description = "Side to move after the update")
+    private Color turn;
+
+    @Schema(description = "Player who joined as black (JOINED)")
+    private String player;
+
+    @Schema(description = "Current FEN position (STATE)")
+    private String fen;
+
+    public GameUpdateResponse() {}
+
+    public GameUpdateResponse(String type, int ply, String from, String to, PieceType promotion, String san,
+                              GameStatus status, Color turn, String player, String fen) {
+        this.type = type;
+        this.ply = ply;
+        this.from = from;
+        this.to = to;
+        this.promotion = promotion;
+        this.san = san;
+        this.status = status;
+        this.turn = turn;
+        this.player = player;
+        this.fen = fen;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public PieceType getPromotion() {
+        return promotion;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public Color getTurn() {
+        return turn;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setPly(int ply) {
+        this.ply = ply;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public void setPromotion(PieceType promotion) {
+        this.promotion = promotion;
+    }
+
+    public void setSan(String san) {
+        this.san = san;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public void setTurn(Color turn) {
+        this.turn = turn;
+    }
+
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+
+    public void setFen(String fen) {
+        this.fen = fen;
+    }
+}
@@ -14,7 +14,7 @@ public class MakeMoveRequest {
     @Schema(description = "To square", example = "e4", requiredMode = Schema.RequiredMode.REQUIRED)
     private String to;
 
-    @Schema(description = "Promotion piece type string (QUEEN only in MVP).", example = "QUEEN")
+    @Schema(description = "Promotion piece type: QUEEN, ROOK, BISHOP or KNIGHT. Required when a pawn reaches the last rank.", example = "QUEEN")
     private String promotion;
 
     @Schema(description = "Player identifier attempting the move", example = "alice123", requiredMode = Schema.RequiredMode.REQUIRED)
@@ -0,0 +1,78 @@
+package com.example.chessgamebackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * One page of a game's move history.
+ */
+public class MoveHistoryResponse {
+
+    @Schema(description = "Game identifier")
+    private UUID gameId;
+
+    @Schema(description = "Zero-based page index", example = "0")
+    private int page;
+
+    @Schema(description = "Page size", example = "100")
+    private int size;
+
+    @Schema(description = "Total moves (plies) in the game")
+    private long totalMoves;
+
+    @Schema(description = "Moves on this page in ply order")
+    private List<MoveResponse> moves;
+
+    public MoveHistoryResponse() {}
+
+    public MoveHistoryResponse(UUID gameId, int page, int size, long totalMoves, List<MoveResponse> moves) {
+        this.gameId = gameId;
+        this.page = page;
+        this.size = size;
+        this.totalMoves = totalMoves;
+        this.moves = moves;
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public List<MoveResponse> getMoves() {
+        return moves;
+    }
+
+    public void setGameId(UUID gameId) {
+        this.gameId = gameId;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void setTotalMoves(long totalMoves) {
+        this.totalMoves = totalMoves;
+    }
+
+    public void setMoves(List<MoveResponse> moves) {
+        this.moves = moves;
+    }
+}
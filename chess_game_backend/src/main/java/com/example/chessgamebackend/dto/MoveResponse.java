@@ -0,0 +1,90 @@
+package com.example.chessgamebackend.dto;
+
+import com.example.chessgamebackend.domain.PieceType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * PUBLIC_INTERFACE
+ * One played move in a game's history.
+ */
+public class MoveResponse {
+
+    @Schema(description = "Half-move number, starting at 1", example = "1")
+    private int ply;
+
+    @Schema(description = "From square", example = "e2")
+    private String from;
+
+    @Schema(description = "To square", example = "e4")
+    private String to;
+
+    @Schema(description = "Promotion piece (null if none)")
+    private PieceType promotion;
+
+    @Schema(description = "Standard algebraic notation", example = "e4")
+    private String san;
+
+    @Schema(description = "Time the move was played (null for moves of finished, archived games)")
+    private Instant playedAt;
+
+    public MoveResponse() {}
+
+    public MoveResponse(int ply, String from, String to, PieceType promotion, String san, Instant playedAt) {
+        this.ply = ply;
+        this.from = from;
+        this.to = to;
+        this.promotion = promotion;
+        this.san = san;
+        this.playedAt = playedAt;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public PieceType getPromotion() {
+        return promotion;
+    }
+
+    public String getSan() {
+        return san;
+    }
+
+    public Instant getPlayedAt() {
+        return playedAt;
+    }
+
+    public void setPly(int ply) {
+        this.ply = ply;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public void setPromotion(PieceType promotion) {
+        this.promotion = promotion;
+    }
+
+    public void setSan(String san) {
+        this.san = san;
+    }
+
+    public void setPlayedAt(Instant playedAt) {
+        this.playedAt = playedAt;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.chessgamebackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * PUBLIC_INTERFACE
+ * Perft run outcome: node count and move-generator throughput.
+ */
+public class PerftResponse {
+
+    @Schema(description = "Reference position name (verify runs only)", example = "kiwipete")
+    private String name;
+
+    @Schema(description = "Root position FEN")
+    private String fen;
+
+    @Schema(description = "Search depth in plies", example = "4")
+    private int depth;
+
+    @Schema(description = "Leaf nodes counted")
+    private long nodes;
+
+    @Schema(description = "Published node count (verify runs only)")
+    private Long expectedNodes;
+
+    @Schema(description = "Whether nodes matched expectedNodes (verify runs only)")
+    private Boolean passed;
+
+    @Schema(description = "Wall-clock time in milliseconds")
+    private long elapsedMillis;
+
+    @Schema(description = "Nodes per second")
+    private long nodesPerSecond;
+
+    @Schema(description = "Worker threads used")
+    private int parallelism;
+
+    public PerftResponse() {}
+
+    public PerftResponse(String name, String fen, int depth, long nodes, Long expectedNodes, Boolean passed,
+                         long elapsedMillis, long nodesPerSecond, int parallelism) {
+        this.name = name;
+        this.fen = fen;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.expectedNodes = expectedNodes;
+        this.passed = passed;
+        this.elapsedMillis = elapsedMillis;
+        this.nodesPerSecond = nodesPerSecond;
+        this.parallelism = parallelism;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public Long getExpectedNodes() {
+        return expectedNodes;
+    }
+
+    public Boolean getPassed() {
+        return passed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return nodesPerSecond;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setFen(String fen) {
+        this.fen = fen;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public void setExpectedNodes(Long expectedNodes) {
+        this.expectedNodes = expectedNodes;
+    }
+
+    public void setPassed(Boolean passed) {
+        this.passed = passed;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public void setNodesPerSecond(long nodesPerSecond) {
+        this.nodesPerSecond = nodesPerSecond;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.chessgamebackend.engine;
+
+/**
+ * Precomputed attack tables for move generation on bitboards.
+ * Squares are indexed 0..63 with a1 = 0, h1 = 7, a8 = 56 (see {@link com.example.chessgamebackend.domain.Board}).
+ *
+ * Leaper attacks (knight, king, pawn captures) are plain per-square lookups.
+ * Slider attacks (rook, bishop, queen) use magic bitboards: the relevant blockers are
+ * masked out of the occupancy, multiplied by a per-square magic and shifted down to an
+ * index into a per-square table. Magics are searched once at class initialization with a
+ * fixed seed, so the tables are identical on every run.
+ */
+final class AttackTables {
+
+    static final long[] KNIGHT = new long[64];
+    static final long[] KING = new long[64];
+    /** Pawn capture targets, indexed by color ordinal then square. */
+    static final long[][] PAWN = new long[2][64];
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = new long[64];
+    private static final long[] BISHOP_MAGIC = new long[64];
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final long[][] ROOK_TABLE = new long[64][];
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    private static final int[][] ROOK_DIRS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    static {
+        initLeapers();
+        long[] seed = {0x9E3779B97F4A7C15L};
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_MASK[sq] = relevantMask(sq, ROOK_DIRS);
+            BISHOP_MASK[sq] = relevantMask(sq, BISHOP_DIRS);
+            ROOK_TABLE[sq] = findMagic(sq, ROOK_MASK[sq], ROOK_DIRS, ROOK_MAGIC, ROOK_SHIFT, seed);
+            BISHOP_TABLE[sq] = findMagic(sq, BISHOP_MASK[sq], BISHOP_DIRS, BISHOP_MAGIC, BISHOP_SHIFT, seed);
+        }
+    }
+
+    private AttackTables() {}
+
+    static long rookAttacks(int sq, long occupancy) {
+        return ROOK_TABLE[sq][(int) (((occupancy & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    static long bishopAttacks(int sq, long occupancy) {
+        return BISHOP_TABLE[sq][(int) (((occupancy & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    static long queenAttacks(int sq, long occupancy) {
+        return rookAttacks(sq, occupancy) | bishopAttacks(sq, occupancy);
+    }
+
+    private static void initLeapers() {
+        int[][] knight = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+        int[][] king = {{1, 1}, {1, 0}, {1, -1}, {0, 1}, {0, -1}, {-1, 1}, {-1, 0}, {-1, -1}};
+        for (int sq = 0; sq < 64; sq++) {
+            int r = sq >>> 3, f = sq & 7;
+            KNIGHT[sq] = leaperMask(r, f, knight);
+            KING[sq] = leaperMask(r, f, king);
+            PAWN[0][sq] = leaperMask(r, f, new int[][]{{1, -1}, {1, 1}});
+            PAWN[1][sq] = leaperMask(r, f, new int[][]{{-1, -1}, {-1, 1}});
+        }
+    }
+
+    private static long leaperMask(int r, int f, int[][] deltas) {
+        long mask = 0L;
+        for (int[] d : deltas) {
+            int nr = r + d[0], nf = f + d[1];
+            if (nr >= 0 && nr < 8 && nf >= 0 && nf < 8) {
+                mask |= 1L << (nr * 8 + nf);
+            }
+        }
+        return mask;
+    }
+
+    /** Squares whose occupancy can change the slider's attack set (board edges excluded). */
+    private static long relevantMask(int sq, int[][] dirs) {
+        long mask = 0L;
+        for (int[] d : dirs) {
+            int r = (sq >>> 3) + d[0], f = (sq & 7) + d[1];
+            while (r + d[0] >= 0 && r + d[0] < 8 && f + d[1] >= 0 && f + d[1] < 8) {
+                mask |= 1L << (r * 8 + f);
+                r += d[0];
+                f += d[1];
+            }
+        }
+        return mask;
+    }
+
+    /** Ray walk used only to fill the tables. */
+    private static long slowAttacks(int sq, long occupancy, int[][] dirs) {
+        long attacks = 0L;
+        for (int[] d : dirs) {
+            int r = (sq >>> 3) + d[0], f = (sq & 7) + d[1];
+            while (r >= 0 && r < 8 && f >= 0 && f < 8) {
+                long bit = 1L << (r * 8 + f);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) break;
+                r += d[0];
+                f += d[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static long[] findMagic(int sq, long mask, int[][] dirs, long[] magics, int[] shifts, long[] seed) {
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+        // Carry-Rippler enumeration of every subset of the mask
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            attacks[i] = slowAttacks(sq, subset, dirs);
+            subset = (subset - mask) & mask;
+        }
+        int shift = 64 - bits;
+        long[] table = new long[size];
+        int[] epoch = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom(seed) & nextRandom(seed) & nextRandom(seed);
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) continue;
+            boolean ok = true;
+            for (int i = 0; i < size && ok; i++) {
+                int idx = (int) ((occupancies[i] * magic) >>> shift);
+                if (epoch[idx] != attempt) {
+                    epoch[idx] = attempt;
+                    table[idx] = attacks[i];
+                } else if (table[idx] != attacks[i]) {
+                    ok = false;
+                }
+            }
+            if (ok) {
+                magics[sq] = magic;
+                shifts[sq] = shift;
+                return table;
+            }
+        }
+    }
+
+    private static long nextRandom(long[] state) {
+        // xorshift64*
+        long x = state[0];
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        state[0] = x;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+}
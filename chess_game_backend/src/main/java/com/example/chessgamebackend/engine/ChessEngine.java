@@ -2,14 +2,15 @@ package com.example.chessgamebackend.engine;
 
 import com.example.chessgamebackend.domain.*;
 
-import java.util.List;
-
 /**
  * PUBLIC_INTERFACE
  * High-level chess engine operations: initialize, validate/apply moves, and detect basic end states.
  */
 public class ChessEngine {
 
+    /** SAN piece letters indexed by PieceType ordinal. */
+    private static final String SAN_LETTERS = "KQRBNP";
+
     private final MoveValidator validator = new MoveValidator();
 
     /**
@@ -25,90 +26,128 @@ public class ChessEngine {
     /**
      * PUBLIC_INTERFACE
      * Applies a move to a FEN, enforcing legality and returning new FEN and game status.
+     * Single pass: the FEN is parsed once, the move is matched against one legal move generation
+     * and applied in place, and mate/stalemate is decided by a short-circuiting legal move probe.
      * @param fen current FEN
-     * @param move move to apply
-     * @return result containing new fen, next turn, and status
+     * @param move packed move to apply (see {@link PackedMove})
+     * @return result containing new fen, next turn, status, check flag, captured piece, SAN and the move played
      */
-    public Result applyMove(String fen, Move move) {
+    public Result applyMove(String fen, int move) {
         Board board = new Board();
         board.loadFEN(fen);
-        Color mover = board.getSideToMove();
+        return applyMove(board, move);
+    }
 
-        if (!validator.isLegalMove(board, mover, move)) {
-            throw new IllegalArgumentException("Illegal move: " + move);
-        }
-        // Apply move on board using validator's internal pseudo apply (replay by generating and then apply)
-        // We use a tiny trick: validator.isLegalMove clones and applies; we need to apply now on real board
-        // Re-apply pseudo on board directly (duplicated logic maintained in validator):
-        // We can call a small helper here: generate legal and find exact, then re-load new FEN by simulating.
-        List<Move> legal = validator.generateLegalMoves(board, mover);
-        boolean found = false;
-        for (Move lm : legal) {
-            if (lm.getFrom().equals(move.getFrom()) && lm.getTo().equals(move.getTo())) {
-                move = lm; // use canonical (promotion if needed)
-                found = true;
-                break;
-            }
+    /**
+     * PUBLIC_INTERFACE
+     * Same as {@link #applyMove(String, int)} on an already parsed position, which the move is applied to
+     * in place. The board is left unchanged when the move is illegal.
+     * @param board current position (modified)
+     * @param move packed move to apply (see {@link PackedMove})
+     * @return result containing new fen, next turn, status, check flag, captured piece, SAN and the move played
+     */
+    public Result applyMove(Board board, int move) {
+        MoveList legal = new MoveList();
+        validator.generateLegalMoves(board, legal);
+        int canonical = legal.find(move); // use canonical (with generation flags)
+        if (canonical == PackedMove.NONE) {
+            throw new IllegalArgumentException("Illegal move: " + PackedMove.toString(move));
         }
-        if (!found) throw new IllegalArgumentException("Illegal move (not found in legal set): " + move);
 
-        // Now re-create by executing on a fresh board by stepping: emulate by loading FEN from validator clone
-        // Simple approach: find clone after move with isLegalMove check which clones and applies; capture from there.
-        Board after = new Board();
-        after.loadFEN(fen);
-        // apply same pseudo/logic as validator by regenerating on a temporary validator clone
-        // Use a small internal executor
-        internalApply(after, mover, move);
+        int from = PackedMove.from(canonical);
+        int to = PackedMove.to(canonical);
+        Piece captured = PackedMove.has(canonical, PackedMove.EN_PASSANT)
+                ? board.getPiece((from & 56) | (to & 7)) // pawn beside the mover, on the target file
+                : board.getPiece(to);
+        String san = san(board, canonical, legal);
 
-        String newFen = after.toFEN();
-        Color next = after.getSideToMove();
+        board.makeMove(canonical);
+        Color next = board.getSideToMove();
 
         // Determine status
         GameStatus status = GameStatus.ONGOING;
-        boolean oppInCheck = validator.isKingInCheck(after, next);
-        List<Move> oppMoves = validator.generateLegalMoves(after, next);
-        if (oppMoves.isEmpty()) {
-            status = oppInCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        boolean check = validator.isKingInCheck(board, next);
+        if (!validator.hasAnyLegalMove(board)) {
+            status = check ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (check) {
+            san += status == GameStatus.CHECKMATE ? "#" : "+";
         }
 
-        return new Result(newFen, next, status);
+        return new Result(board.toFEN(), next, status, board.getZobristKey(), board.getHalfmoveClock() == 0,
+                check, captured, san, PackedMove.core(canonical));
     }
 
-    private void internalApply(Board board, Color mover, Move move) {
-        // Repeat a small version by asking validator for legal and then reproducing result squares
-        int ff = Board.fileOf(move.getFrom());
-        int fr = Board.rankOf(move.getFrom());
-        int tf = Board.fileOf(move.getTo());
-        int tr = Board.rankOf(move.getTo());
-        Piece moved = board.getPiece(fr, ff);
-        boolean wasCaptureOrPawn = (board.getPiece(tr, tf) != null) || (moved != null && moved.getType() == PieceType.PAWN);
-
-        board.setPiece(fr, ff, null);
-
-        if (moved != null && moved.getType() == PieceType.KING && Math.abs(tf - ff) == 2 && fr == tr) {
-            if (tf == 6) {
-                Piece rook = board.getPiece(fr, 7);
-                board.setPiece(fr, 7, null);
-                board.setPiece(fr, 5, rook);
-            } else if (tf == 2) {
-                Piece rook = board.getPiece(fr, 0);
-                board.setPiece(fr, 0, null);
-                board.setPiece(fr, 3, rook);
+    /** Standard algebraic notation without the check suffix, e.g. Nbd7, exd5, e8=Q, O-O. */
+    private static String san(Board board, int move, MoveList legal) {
+        if (PackedMove.has(move, PackedMove.CASTLING)) {
+            return PackedMove.to(move) % 8 == 6 ? "O-O" : "O-O-O";
+        }
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        PieceType type = board.getPiece(from).getType();
+        boolean capture = PackedMove.has(move, PackedMove.CAPTURE);
+        StringBuilder sb = new StringBuilder(8);
+        if (type == PieceType.PAWN) {
+            if (capture) {
+                sb.append(Board.squareName(from).charAt(0));
+            }
+        } else {
+            sb.append(SAN_LETTERS.charAt(type.ordinal()));
+            // Disambiguate against other pieces of the same type that can reach the same square
+            boolean ambiguous = false;
+            boolean sameFile = false;
+            boolean sameRank = false;
+            for (int i = 0; i < legal.size(); i++) {
+                int other = legal.get(i);
+                int otherFrom = PackedMove.from(other);
+                if (otherFrom != from && PackedMove.to(other) == to && board.getPiece(otherFrom).getType() == type) {
+                    ambiguous = true;
+                    sameFile |= otherFrom % 8 == from % 8;
+                    sameRank |= otherFrom / 8 == from / 8;
+                }
+            }
+            if (ambiguous) {
+                String fromName = Board.squareName(from);
+                if (!sameFile) {
+                    sb.append(fromName.charAt(0));
+                } else if (!sameRank) {
+                    sb.append(fromName.charAt(1));
+                } else {
+                    sb.append(fromName);
+                }
             }
         }
-        Piece placed = moved;
-        if (moved != null && moved.getType() == PieceType.PAWN && move.getPromotion() != null) {
-            placed = new Piece(PieceType.QUEEN, mover);
+        if (capture) {
+            sb.append('x');
         }
-        board.setPiece(tr, tf, placed);
-        if (moved != null) board.noteKingOrRookMove(fr, ff, moved);
-        board.setSideToMove(board.getSideToMove().opposite());
-        board.incrementMove(mover, wasCaptureOrPawn);
+        sb.append(Board.squareName(to));
+        PieceType promotion = PackedMove.promotion(move);
+        if (promotion != null) {
+            sb.append('=').append(SAN_LETTERS.charAt(promotion.ordinal()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param fen position FEN
+     * @return Zobrist key of the position
+     */
+    public long positionKey(String fen) {
+        Board b = new Board();
+        b.loadFEN(fen);
+        return b.getZobristKey();
     }
 
     /**
      * PUBLIC_INTERFACE
      * Result record carrying new position and status.
+     * irreversible is true when the move was a capture or pawn move, so no earlier position can recur.
+     * check is true when the side to move is in check; captured is null for non-captures.
+     * move is the move as played, without flags: a promotion without a piece carries the queen, and a piece
+     * given with a move that does not promote is dropped. Records and replies describe this move, not the request.
      */
-    public record Result(String fen, Color nextTurn, GameStatus status) {}
+    public record Result(String fen, Color nextTurn, GameStatus status, long positionKey, boolean irreversible,
+                         boolean check, Piece captured, String san, int move) {}
 }
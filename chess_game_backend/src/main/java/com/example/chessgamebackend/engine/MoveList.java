@@ -0,0 +1,61 @@
+package com.example.chessgamebackend.engine;
+
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.domain.PieceType;
+
+/**
+ * PUBLIC_INTERFACE
+ * Reusable, int[]-backed list of {@link PackedMove} moves. Generation clears and refills it,
+ * so one list per ply (or per request) avoids allocating during move generation.
+ * Not thread-safe; each thread keeps its own lists.
+ */
+public final class MoveList {
+
+    /** No legal chess position has more than 218 moves. */
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Finds a move by its squares, as clients name them: a promotion without a piece is a queen
+     * promotion, and a promotion piece on a move that does not promote is ignored.
+     * @param move packed move (flags ignored)
+     * @return the listed move with the same from/to/promotion (including its flags), or {@link PackedMove#NONE}
+     */
+    public int find(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        PieceType promotion = PackedMove.promotion(move);
+        PieceType wanted = promotion != null ? promotion : PieceType.QUEEN;
+        for (int i = 0; i < size; i++) {
+            int m = moves[i];
+            if (PackedMove.from(m) == from && PackedMove.to(m) == to) {
+                PieceType p = PackedMove.promotion(m);
+                if (p == null || p == wanted) return m;
+            }
+        }
+        return PackedMove.NONE;
+    }
+}
@@ -2,169 +2,184 @@ package com.example.chessgamebackend.engine;
 
 import com.example.chessgamebackend.domain.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * PUBLIC_INTERFACE
  * Validates moves on a Board. Provides generation of legal moves for check validation.
- * MVP: supports basic piece movement, captures, promotions to queen, basic castling. No en passant.
+ * Moves are generated from the board's bitboards using the precomputed {@link AttackTables}
+ * as {@link PackedMove} ints into a caller-owned {@link MoveList}, so generation does not allocate.
+ * Supports all standard moves: captures, en passant, promotions to any piece, and castling.
  */
 public class MoveValidator {
 
+    private static final long RANK_1 = 0x00000000000000FFL;
+    private static final long RANK_8 = 0xFF00000000000000L;
+    private static final long WHITE_KINGSIDE_PATH = 0x60L;             // f1, g1
+    private static final long WHITE_QUEENSIDE_PATH = 0x0EL;            // b1, c1, d1
+    private static final long BLACK_KINGSIDE_PATH = 0x60L << 56;       // f8, g8
+    private static final long BLACK_QUEENSIDE_PATH = 0x0EL << 56;      // b8, c8, d8
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
     /**
      * PUBLIC_INTERFACE
-     * Generate legal moves for side to move on the given board.
+     * Generate legal moves for the side to move on the given board.
+     * The board is played on and restored, so it is unchanged on return.
      * @param board board position
-     * @param color moving color
-     * @return list of moves (without promotion variants enumerated except to queen)
+     * @param out list to fill (cleared first)
+     * @return number of moves (one per promotion piece for promotions)
      */
-    public List<Move> generateLegalMoves(Board board, Color color) {
-        List<Move> moves = new ArrayList<>();
-        // For each piece, generate pseudo-legal then filter by king-safety
-        for (int r = 0; r < 8; r++) {
-            for (int f = 0; f < 8; f++) {
-                Piece p = board.getPiece(r, f);
-                if (p == null || p.getColor() != color) continue;
-                switch (p.getType()) {
-                    case PAWN -> genPawn(board, color, r, f, moves);
-                    case KNIGHT -> genKnight(board, color, r, f, moves);
-                    case BISHOP -> genSlider(board, color, r, f, moves, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1}});
-                    case ROOK -> genSlider(board, color, r, f, moves, new int[][]{{1,0},{-1,0},{0,1},{0,-1}});
-                    case QUEEN -> genSlider(board, color, r, f, moves, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1},{1,0},{-1,0},{0,1},{0,-1}});
-                    case KING -> genKing(board, color, r, f, moves);
-                }
+    public int generateLegalMoves(Board board, MoveList out) {
+        Color mover = board.getSideToMove();
+        // Generate pseudo-legal then filter by king-safety in place
+        genPseudoLegal(board, mover, out);
+        int pseudo = out.size();
+        out.clear();
+        for (int i = 0; i < pseudo; i++) {
+            int m = out.get(i);
+            if (leavesKingSafe(board, mover, m)) {
+                out.add(m);
             }
         }
-        // Filter by check safety
-        List<Move> legal = new ArrayList<>();
-        for (Move m : moves) {
-            if (isLegalMove(board, color, m)) {
-                legal.add(m);
-            }
-        }
-        return legal;
+        return out.size();
     }
 
-    private void genPawn(Board b, Color c, int r, int f, List<Move> out) {
-        int dir = (c == Color.WHITE) ? 1 : -1;
-        int startRank = (c == Color.WHITE) ? 1 : 6;
-        int promotionRank = (c == Color.WHITE) ? 6 : 1;
-        // Forward one
-        int r1 = r + dir;
-        if (inBoard(r1, f) && b.getPiece(r1, f) == null) {
-            addPawnMove(out, r, f, r1, f, c, promotionRank);
-            // Double
-            int r2 = r + 2*dir;
-            if (r == startRank && b.getPiece(r2, f) == null) {
-                out.add(new Move(squareOf(r, f), squareOf(r2, f), null));
-            }
-        }
-        // Captures
-        for (int df : new int[]{-1, 1}) {
-            int cf = f + df;
-            int cr = r + dir;
-            if (inBoard(cr, cf)) {
-                Piece target = b.getPiece(cr, cf);
-                if (target != null && target.getColor() != c) {
-                    addPawnMove(out, r, f, cr, cf, c, promotionRank);
-                }
-            }
+    private void genPseudoLegal(Board b, Color c, MoveList out) {
+        out.clear();
+        long own = b.getOccupancy(c);
+        while (own != 0) {
+            int sq = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            addMoves(b, c, sq, targets(b, c, sq), out);
         }
-        // No en passant in MVP
     }
 
-    private void addPawnMove(List<Move> out, int r, int f, int r1, int f1, Color c, int promotionRank) {
-        String from = squareOf(r, f);
-        String to = squareOf(r1, f1);
-        if (r == promotionRank) {
-            out.add(new Move(from, to, PieceType.QUEEN)); // MVP: queen only
+    /** Pseudo-legal target squares of the piece on sq, including pawn pushes, en passant and castling. */
+    private long targets(Board b, Color c, int sq) {
+        long occ = b.getOccupancy();
+        long notOwn = ~b.getOccupancy(c);
+        return switch (b.getPiece(sq).getType()) {
+            case PAWN -> pawnTargets(b, c, sq);
+            case KNIGHT -> AttackTables.KNIGHT[sq] & notOwn;
+            case BISHOP -> AttackTables.bishopAttacks(sq, occ) & notOwn;
+            case ROOK -> AttackTables.rookAttacks(sq, occ) & notOwn;
+            case QUEEN -> AttackTables.queenAttacks(sq, occ) & notOwn;
+            case KING -> (AttackTables.KING[sq] & notOwn) | castlingTargets(b, c, sq);
+        };
+    }
+
+    private long pawnTargets(Board b, Color c, int sq) {
+        long empty = ~b.getOccupancy();
+        long bit = 1L << sq;
+        long single;
+        long dbl;
+        if (c == Color.WHITE) {
+            single = (bit << 8) & empty;
+            dbl = ((single & 0x0000000000FF0000L) << 8) & empty;
         } else {
-            out.add(new Move(from, to, null));
+            single = (bit >>> 8) & empty;
+            dbl = ((single & 0x0000FF0000000000L) >>> 8) & empty;
         }
+        long enemies = b.getOccupancy(c.opposite());
+        int ep = b.getEnPassantSquare();
+        if (ep != -1 && c == b.getSideToMove()) {
+            enemies |= 1L << ep;
+        }
+        return single | dbl | (AttackTables.PAWN[c.ordinal()][sq] & enemies);
     }
 
-    private void genKnight(Board b, Color c, int r, int f, List<Move> out) {
-        int[][] deltas = {{2,1},{2,-1},{-2,1},{-2,-1},{1,2},{1,-2},{-1,2},{-1,-2}};
-        for (int[] d : deltas) {
-            int nr = r + d[0], nf = f + d[1];
-            if (!inBoard(nr, nf)) continue;
-            Piece t = b.getPiece(nr, nf);
-            if (t == null || t.getColor() != c) {
-                out.add(new Move(squareOf(r,f), squareOf(nr,nf), null));
+    private long castlingTargets(Board b, Color c, int sq) {
+        // Castling if right held, path empty, and the king neither starts in nor passes through check
+        // (the destination square is tested by the king-safety filter)
+        int rights = b.getCastlingRights();
+        long occ = b.getOccupancy();
+        Color opp = c.opposite();
+        long targets = 0L;
+        if (c == Color.WHITE && sq == 4 && (rights & (Board.WHITE_KINGSIDE | Board.WHITE_QUEENSIDE)) != 0
+                && !isSquareAttacked(b, 4, opp)) {
+            if ((rights & Board.WHITE_KINGSIDE) != 0 && (occ & WHITE_KINGSIDE_PATH) == 0 && !isSquareAttacked(b, 5, opp)) {
+                targets |= 1L << 6;
+            }
+            if ((rights & Board.WHITE_QUEENSIDE) != 0 && (occ & WHITE_QUEENSIDE_PATH) == 0 && !isSquareAttacked(b, 3, opp)) {
+                targets |= 1L << 2;
+            }
+        }
+        if (c == Color.BLACK && sq == 60 && (rights & (Board.BLACK_KINGSIDE | Board.BLACK_QUEENSIDE)) != 0
+                && !isSquareAttacked(b, 60, opp)) {
+            if ((rights & Board.BLACK_KINGSIDE) != 0 && (occ & BLACK_KINGSIDE_PATH) == 0 && !isSquareAttacked(b, 61, opp)) {
+                targets |= 1L << 62;
+            }
+            if ((rights & Board.BLACK_QUEENSIDE) != 0 && (occ & BLACK_QUEENSIDE_PATH) == 0 && !isSquareAttacked(b, 59, opp)) {
+                targets |= 1L << 58;
             }
         }
+        return targets;
     }
 
-    private void genSlider(Board b, Color c, int r, int f, List<Move> out, int[][] deltas) {
-        for (int[] d : deltas) {
-            int nr = r + d[0], nf = f + d[1];
-            while (inBoard(nr, nf)) {
-                Piece t = b.getPiece(nr, nf);
-                if (t == null) {
-                    out.add(new Move(squareOf(r,f), squareOf(nr,nf), null));
-                } else {
-                    if (t.getColor() != c) {
-                        out.add(new Move(squareOf(r,f), squareOf(nr,nf), null));
+    private void addMoves(Board b, Color c, int from, long targets, MoveList out) {
+        PieceType type = b.getPiece(from).getType();
+        long enemies = b.getOccupancy(c.opposite());
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            long toBit = targets & -targets;
+            targets &= targets - 1;
+            int flags = (enemies & toBit) != 0 ? PackedMove.CAPTURE : PackedMove.NONE;
+            if (type == PieceType.PAWN) {
+                if (to == b.getEnPassantSquare()) {
+                    flags |= PackedMove.CAPTURE | PackedMove.EN_PASSANT;
+                } else if (Math.abs(to - from) == 16) {
+                    flags |= PackedMove.DOUBLE_PUSH;
+                }
+                if ((toBit & (RANK_1 | RANK_8)) != 0) {
+                    for (PieceType promotion : PROMOTIONS) {
+                        out.add(PackedMove.of(from, to, promotion) | flags);
                     }
-                    break;
+                    continue;
                 }
-                nr += d[0]; nf += d[1];
+            } else if (type == PieceType.KING && Math.abs(to - from) == 2) {
+                flags |= PackedMove.CASTLING;
             }
+            out.add(PackedMove.of(from, to, null) | flags);
         }
     }
 
-    private void genKing(Board b, Color c, int r, int f, List<Move> out) {
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int df = -1; df <= 1; df++) {
-                if (dr == 0 && df == 0) continue;
-                int nr = r + dr, nf = f + df;
-                if (!inBoard(nr, nf)) continue;
-                Piece t = b.getPiece(nr, nf);
-                if (t == null || t.getColor() != c) {
-                    out.add(new Move(squareOf(r,f), squareOf(nr,nf), null));
+    /**
+     * PUBLIC_INTERFACE
+     * Returns true as soon as the side to move is found to have one legal move, without generating
+     * the rest. Cheaper than {@link #generateLegalMoves} for checkmate/stalemate detection.
+     * The board is played on and restored, so it is unchanged on return.
+     */
+    public boolean hasAnyLegalMove(Board board) {
+        Color mover = board.getSideToMove();
+        long own = board.getOccupancy(mover);
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            long targets = targets(board, mover, from);
+            boolean pawn = board.getPiece(from).getType() == PieceType.PAWN;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                // King safety does not depend on the promotion piece, so one promotion stands for all four
+                PieceType promotion = pawn && ((1L << to) & (RANK_1 | RANK_8)) != 0 ? PieceType.QUEEN : null;
+                if (leavesKingSafe(board, mover, PackedMove.of(from, to, promotion))) {
+                    return true;
                 }
             }
         }
-        // Basic castling if path empty and not in check over squares (check tested in isLegalMove)
-        // White king at e1 (r=0,f=4)
-        if (c == Color.WHITE && r == 0 && f == 4) {
-            if (b.getPiece(0,5) == null && b.getPiece(0,6) == null) {
-                out.add(new Move("e1","g1", null));
-            }
-            if (b.getPiece(0,3) == null && b.getPiece(0,2) == null && b.getPiece(0,1) == null) {
-                out.add(new Move("e1","c1", null));
-            }
-        }
-        // Black king at e8 (r=7,f=4)
-        if (c == Color.BLACK && r == 7 && f == 4) {
-            if (b.getPiece(7,5) == null && b.getPiece(7,6) == null) {
-                out.add(new Move("e8","g8", null));
-            }
-            if (b.getPiece(7,3) == null && b.getPiece(7,2) == null && b.getPiece(7,1) == null) {
-                out.add(new Move("e8","c8", null));
-            }
-        }
-    }
-
-    private boolean inBoard(int r, int f) {
-        return r >= 0 && r < 8 && f >= 0 && f < 8;
-    }
-
-    private String squareOf(int r, int f) {
-        return "" + (char)('a' + f) + (char)('1' + r);
+        return false;
     }
 
     /**
      * PUBLIC_INTERFACE
      * Check if move is legal, including king safety.
+     * The move is played on the board and taken back again, so the board is unchanged on return.
+     * @param board board position
+     * @param mover moving color
+     * @param move packed move (flags are ignored; a pawn reaching the last rank without a promotion piece promotes to a queen)
+     * @return whether the move is legal
      */
-    public boolean isLegalMove(Board board, Color mover, Move move) {
-        // Pseudo-legal test by inclusion in generated list (optimization omitted)
-        // Apply on a clone and verify king not in check
-        Board clone = cloneBoard(board);
-        if (!applyPseudoLegal(clone, mover, move)) return false;
-        return !isKingInCheck(clone, mover);
+    public boolean isLegalMove(Board board, Color mover, int move) {
+        int canonical = withPromotion(board, move);
+        return isPseudoLegal(board, mover, canonical) && leavesKingSafe(board, mover, canonical);
     }
 
     /**
@@ -172,104 +187,63 @@ public class MoveValidator {
      * Returns true if color's king is in check.
      */
     public boolean isKingInCheck(Board board, Color color) {
-        // Find king
-        int kr = -1, kf = -1;
-        for (int r = 0; r < 8; r++) {
-            for (int f = 0; f < 8; f++) {
-                Piece p = board.getPiece(r,f);
-                if (p != null && p.getColor() == color && p.getType() == PieceType.KING) {
-                    kr = r; kf = f;
-                }
-            }
-        }
-        if (kr == -1) return true; // no king found => illegal
-        Color opp = color.opposite();
-        List<Move> oppMoves = new ArrayList<>();
-        // Generate opponent pseudo moves (king safety not needed)
-        for (int r = 0; r < 8; r++) {
-            for (int f = 0; f < 8; f++) {
-                Piece p = board.getPiece(r, f);
-                if (p == null || p.getColor() != opp) continue;
-                switch (p.getType()) {
-                    case PAWN -> genPawn(board, opp, r, f, oppMoves);
-                    case KNIGHT -> genKnight(board, opp, r, f, oppMoves);
-                    case BISHOP -> genSlider(board, opp, r, f, oppMoves, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1}});
-                    case ROOK -> genSlider(board, opp, r, f, oppMoves, new int[][]{{1,0},{-1,0},{0,1},{0,-1}});
-                    case QUEEN -> genSlider(board, opp, r, f, oppMoves, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1},{1,0},{-1,0},{0,1},{0,-1}});
-                    case KING -> genKing(board, opp, r, f, oppMoves);
-                }
-            }
-        }
-        String kingSquare = "" + (char)('a' + kf) + (char)('1' + kr);
-        for (Move m : oppMoves) {
-            if (m.getTo().equals(kingSquare)) return true;
-        }
-        return false;
+        long king = board.getBitboard(PieceType.KING, color);
+        if (king == 0) return true; // no king found => illegal
+        return isSquareAttacked(board, Long.numberOfTrailingZeros(king), color.opposite());
     }
 
-    private boolean applyPseudoLegal(Board board, Color mover, Move move) {
-        int ff = Board.fileOf(move.getFrom());
-        int fr = Board.rankOf(move.getFrom());
-        int tf = Board.fileOf(move.getTo());
-        int tr = Board.rankOf(move.getTo());
-        Piece moved = board.getPiece(fr, ff);
-        if (moved == null || moved.getColor() != mover) return false;
+    /**
+     * PUBLIC_INTERFACE
+     * Returns true if any piece of byColor attacks the square. Probes outward from the square
+     * with the leaper tables and slider lookups, cheapest first, and stops at the first attacker.
+     * @param board board position
+     * @param square square index 0..63 (a1 = 0)
+     * @param byColor attacking color
+     * @return whether the square is attacked
+     */
+    public boolean isSquareAttacked(Board board, int square, Color byColor) {
+        if ((AttackTables.PAWN[byColor.opposite().ordinal()][square] & board.getBitboard(PieceType.PAWN, byColor)) != 0) return true;
+        if ((AttackTables.KNIGHT[square] & board.getBitboard(PieceType.KNIGHT, byColor)) != 0) return true;
+        if ((AttackTables.KING[square] & board.getBitboard(PieceType.KING, byColor)) != 0) return true;
+        long queens = board.getBitboard(PieceType.QUEEN, byColor);
+        long occ = board.getOccupancy();
+        long rooks = board.getBitboard(PieceType.ROOK, byColor) | queens;
+        if (rooks != 0 && (AttackTables.rookAttacks(square, occ) & rooks) != 0) return true;
+        long bishops = board.getBitboard(PieceType.BISHOP, byColor) | queens;
+        return bishops != 0 && (AttackTables.bishopAttacks(square, occ) & bishops) != 0;
+    }
 
-        // Basic movement rules check
-        List<Move> pseudo = new ArrayList<>();
-        switch (moved.getType()) {
-            case PAWN -> genPawn(board, mover, fr, ff, pseudo);
-            case KNIGHT -> genKnight(board, mover, fr, ff, pseudo);
-            case BISHOP -> genSlider(board, mover, fr, ff, pseudo, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1}});
-            case ROOK -> genSlider(board, mover, fr, ff, pseudo, new int[][]{{1,0},{-1,0},{0,1},{0,-1}});
-            case QUEEN -> genSlider(board, mover, fr, ff, pseudo, new int[][]{{1,1},{1,-1},{-1,1},{-1,-1},{1,0},{-1,0},{0,1},{0,-1}});
-            case KING -> genKing(board, mover, fr, ff, pseudo);
-        }
-        boolean found = false;
-        for (Move m : pseudo) {
-            if (m.getTo().equals(move.getTo())) {
-                if ((m.getPromotion() == null && move.getPromotion() == null) ||
-                        (m.getPromotion() != null && move.getPromotion() != null)) {
-                    found = true;
-                    break;
-                }
-            }
-        }
-        if (!found) return false;
+    /** Promotes to a queen when no piece is given and drops a promotion piece from any other move, as {@link MoveList#find} does. */
+    private static int withPromotion(Board board, int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        Piece moved = board.getPiece(from);
+        boolean lastRank = moved != null && moved.getType() == PieceType.PAWN && ((1L << to) & (RANK_1 | RANK_8)) != 0;
+        if (!lastRank) {
+            return PackedMove.of(from, to, null);
+        }
+        PieceType promotion = PackedMove.promotion(move);
+        return PackedMove.of(from, to, promotion != null ? promotion : PieceType.QUEEN);
+    }
 
-        // Execute move (with basic castling rook move)
-        boolean wasCaptureOrPawn = (board.getPiece(tr, tf) != null) || moved.getType() == PieceType.PAWN;
-        board.setPiece(fr, ff, null);
-        // Castling rook handling
-        if (moved.getType() == PieceType.KING && Math.abs(tf - ff) == 2 && fr == tr) {
-            // king-side or queen-side
-            if (tf == 6) { // g-file
-                // move rook h -> f
-                Piece rook = board.getPiece(fr, 7);
-                board.setPiece(fr, 7, null);
-                board.setPiece(fr, 5, rook);
-            } else if (tf == 2) {
-                Piece rook = board.getPiece(fr, 0);
-                board.setPiece(fr, 0, null);
-                board.setPiece(fr, 3, rook);
-            }
-        }
-        // Place moved (promotion to queen only in MVP)
-        Piece placed = moved;
-        if (moved.getType() == PieceType.PAWN && move.getPromotion() != null) {
-            placed = new Piece(PieceType.QUEEN, mover);
+    private boolean isPseudoLegal(Board board, Color mover, int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        Piece moved = board.getPiece(from);
+        if (moved == null || moved.getColor() != mover) return false;
+        // Basic movement rules check; a promotion piece is required exactly when a pawn reaches the last rank
+        PieceType promotion = PackedMove.promotion(move);
+        boolean lastRank = moved.getType() == PieceType.PAWN && ((1L << to) & (RANK_1 | RANK_8)) != 0;
+        if (lastRank ? promotion == null || promotion == PieceType.KING || promotion == PieceType.PAWN : promotion != null) {
+            return false;
         }
-        board.setPiece(tr, tf, placed);
-
-        board.noteKingOrRookMove(fr, ff, moved);
-        board.setSideToMove(board.getSideToMove().opposite());
-        board.incrementMove(mover, wasCaptureOrPawn);
-        return true;
+        return (targets(board, mover, from) & (1L << to)) != 0;
     }
 
-    private Board cloneBoard(Board b) {
-        Board c = new Board();
-        c.loadFEN(b.toFEN());
-        return c;
+    private boolean leavesKingSafe(Board board, Color mover, int move) {
+        long undo = board.makeMove(move);
+        boolean safe = !isKingInCheck(board, mover);
+        board.unmakeMove(undo);
+        return safe;
     }
 }
@@ -0,0 +1,250 @@
+package com.example.chessgamebackend.engine;
+
+import com.example.chessgamebackend.domain.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PUBLIC_INTERFACE
+ * Perft (performance test): counts the leaf nodes of the legal move tree to a fixed depth.
+ * Node counts for well-known positions are published, which makes perft an exact correctness
+ * oracle for the move generator, and nodes per second a simple throughput figure for it.
+ */
+public class Perft {
+
+    /**
+     * PUBLIC_INTERFACE
+     * Standard reference positions with published node counts for depths 1..n.
+     */
+    public static final List<ReferencePosition> REFERENCE_POSITIONS = List.of(
+            new ReferencePosition("initial", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    List.of(20L, 400L, 8902L, 197281L, 4865609L)),
+            new ReferencePosition("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    List.of(48L, 2039L, 97862L, 4085603L)),
+            new ReferencePosition("position3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    List.of(14L, 191L, 2812L, 43238L, 674624L)),
+            new ReferencePosition("position4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    List.of(6L, 264L, 9467L, 422333L)),
+            new ReferencePosition("position5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    List.of(44L, 1486L, 62379L, 2103487L)),
+            new ReferencePosition("position6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    List.of(46L, 2079L, 89890L, 3894594L))
+    );
+
+    private final MoveValidator validator = new MoveValidator();
+
+    /**
+     * PUBLIC_INTERFACE
+     * Single-threaded perft. The board is played on and restored.
+     * @param board position
+     * @param depth plies to enumerate (0 counts the position itself)
+     * @return leaf node count
+     */
+    public long perft(Board board, int depth) {
+        return perft(board, depth, newPlyLists(depth), null);
+    }
+
+    private long perft(Board board, int depth, MoveList[] plies, Budget budget) {
+        if (depth == 0) return 1;
+        // One list per remaining depth, reused across siblings, so the walk does not allocate
+        MoveList moves = plies[depth - 1];
+        int count = validator.generateLegalMoves(board, moves);
+        if (depth == 1) {
+            if (budget != null) budget.spend(count);
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            long undo = board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, plies, budget);
+            board.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    private static MoveList[] newPlyLists(int depth) {
+        MoveList[] plies = new MoveList[Math.max(depth, 0)];
+        for (int i = 0; i < plies.length; i++) {
+            plies[i] = new MoveList();
+        }
+        return plies;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Perft with the root moves split across the pool, each subtree on its own board copy.
+     * @param board position (not modified)
+     * @param depth plies to enumerate
+     * @param pool fork/join pool to run on
+     * @return node count and timing
+     */
+    public Result parallelPerft(Board board, int depth, ForkJoinPool pool) {
+        return parallelPerft(board, depth, pool, Long.MAX_VALUE);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * {@link #parallelPerft(Board, int, ForkJoinPool)} that gives up once the tree turns out to have more
+     * than maxNodes leaf nodes, so a deep search on a wide position cannot hold the pool for long. The budget
+     * is handed to the root moves in chunks, so a tree within about an eighth of it may already be refused.
+     * @param maxNodes most leaf nodes to count
+     * @throws IllegalArgumentException if the tree has more than maxNodes leaf nodes
+     */
+    public Result parallelPerft(Board board, int depth, ForkJoinPool pool, long maxNodes) {
+        long start = System.nanoTime();
+        AtomicLong remaining = new AtomicLong(maxNodes);
+        // Small enough that what the running tasks hold back is a fraction of the budget
+        long chunk = Math.max(1, Math.min(Budget.MAX_CHUNK, maxNodes / (8L * pool.getParallelism())));
+        long nodes;
+        try {
+            if (depth <= 1) {
+                nodes = perft(board.copy(), depth, newPlyLists(depth), new Budget(remaining, chunk));
+            } else {
+                List<RootMoveTask> tasks = new ArrayList<>();
+                MoveList rootMoves = new MoveList();
+                validator.generateLegalMoves(board, rootMoves);
+                for (int i = 0; i < rootMoves.size(); i++) {
+                    tasks.add(new RootMoveTask(board, rootMoves.get(i), depth - 1, new Budget(remaining, chunk)));
+                }
+                nodes = pool.submit(() -> ForkJoinTask.invokeAll(tasks).stream()
+                        .mapToLong(ForkJoinTask::join)
+                        .sum()).join();
+            }
+        } catch (RuntimeException e) {
+            // Thrown by whichever task ran out first, possibly wrapped by the pool
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof BudgetExceeded) {
+                    throw new IllegalArgumentException("Perft to depth " + depth + " counts more than " + maxNodes + " nodes");
+                }
+            }
+            throw e;
+        }
+        return new Result(nodes, System.nanoTime() - start, pool.getParallelism());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Runs every reference position up to maxDepth (capped by the published counts).
+     * @param maxDepth deepest depth to check
+     * @param pool fork/join pool to run on
+     * @return one check per position and depth
+     */
+    public List<Check> verify(int maxDepth, ForkJoinPool pool) {
+        List<Check> checks = new ArrayList<>();
+        for (ReferencePosition ref : REFERENCE_POSITIONS) {
+            Board board = new Board();
+            board.loadFEN(ref.fen());
+            int depths = Math.min(maxDepth, ref.nodes().size());
+            for (int depth = 1; depth <= depths; depth++) {
+                checks.add(new Check(ref, depth, parallelPerft(board, depth, pool)));
+            }
+        }
+        return checks;
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private final class RootMoveTask extends RecursiveTask<Long> {
+        private final Board root;
+        private final int move;
+        private final int depth;
+        private final Budget budget;
+
+        RootMoveTask(Board root, int move, int depth, Budget budget) {
+            this.root = root;
+            this.move = move;
+            this.depth = depth;
+            this.budget = budget;
+        }
+
+        @Override
+        protected Long compute() {
+            Board b = root.copy();
+            b.makeMove(move);
+            try {
+                return perft(b, depth, newPlyLists(depth), budget);
+            } finally {
+                budget.refund();
+            }
+        }
+    }
+
+    /**
+     * One task's share of a run's node budget. Nodes are taken from the shared count in chunks, so tasks
+     * do not contend on it per node; what a task took but did not use goes back when it finishes.
+     */
+    private static final class Budget {
+        static final long MAX_CHUNK = 1 << 16;
+
+        private final AtomicLong remaining;
+        private final long chunk;
+        private long allowance;
+
+        Budget(AtomicLong remaining, long chunk) {
+            this.remaining = remaining;
+            this.chunk = chunk;
+        }
+
+        void spend(int nodes) {
+            allowance -= nodes;
+            while (allowance < 0) {
+                long available = remaining.get();
+                if (available <= 0) {
+                    throw new BudgetExceeded();
+                }
+                long take = Math.min(available, chunk);
+                if (remaining.compareAndSet(available, available - take)) {
+                    allowance += take;
+                }
+            }
+        }
+
+        void refund() {
+            if (allowance > 0) {
+                remaining.addAndGet(allowance);
+                allowance = 0;
+            }
+        }
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private static final class BudgetExceeded extends RuntimeException {
+        BudgetExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * A reference position and its published node counts, nodes.get(d - 1) being depth d.
+     */
+    public record ReferencePosition(String name, String fen, List<Long> nodes) {}
+
+    /**
+     * PUBLIC_INTERFACE
+     * Perft outcome with throughput.
+     */
+    public record Result(long nodes, long elapsedNanos, int parallelism) {
+        public long nodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+        }
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Outcome of one reference position at one depth.
+     */
+    public record Check(ReferencePosition position, int depth, Result result) {
+        public long expected() {
+            return position.nodes().get(depth - 1);
+        }
+
+        public boolean passed() {
+            return result.nodes() == expected();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.chessgamebackend.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * PUBLIC_INTERFACE
@@ -45,4 +47,31 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Object> handleBadRequest(RuntimeException ex) {
         return body(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Handle a game that kept changing underneath the request; the client may retry.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConflict(OptimisticLockingFailureException ex) {
+        return body(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Handle writes refused because persistence is falling behind; the client may retry later.
+     */
+    @ExceptionHandler(PersistenceBackpressureException.class)
+    public ResponseEntity<Object> handleBackpressure(PersistenceBackpressureException ex) {
+        return body(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Handle requests refused because the bounded pool running game commands is full.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejected(RejectedExecutionException ex) {
+        return body(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, retry later");
+    }
 }
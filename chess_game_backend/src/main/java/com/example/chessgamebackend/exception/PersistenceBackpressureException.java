@@ -0,0 +1,9 @@
+package com.example.chessgamebackend.exception;
+
+/**
+ * PUBLIC_INTERFACE
+ * Thrown when too many accepted writes are still waiting for the database and a command cannot be admitted.
+ */
+public class PersistenceBackpressureException extends RuntimeException {
+    public PersistenceBackpressureException(String message) { super(message); }
+}
@@ -0,0 +1,36 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.GameMove;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * Repository for the append-only game_moves table.
+ */
+public interface GameMoveRepository extends JpaRepository<GameMove, GameMove.Key> {
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param gameId game id
+     * @param fromPly first ply (inclusive)
+     * @param toPly last ply (inclusive)
+     * @return the game's moves in the ply range, in ply order
+     */
+    List<GameMove> findByGameIdAndPlyBetweenOrderByPlyAsc(UUID gameId, int fromPly, int toPly);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Removes a game's rows once they have been archived into Game.moveData.
+     * @param gameId game id
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from GameMove m where m.gameId = :gameId")
+    int deleteByGameId(@Param("gameId") UUID gameId);
+}
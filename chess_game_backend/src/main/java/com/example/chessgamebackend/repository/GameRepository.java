@@ -2,6 +2,9 @@ package com.example.chessgamebackend.repository;
 
 import com.example.chessgamebackend.domain.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
@@ -10,4 +13,21 @@ import java.util.UUID;
  * Repository for Game entities.
  */
 public interface GameRepository extends JpaRepository<Game, UUID> {
+
+    /**
+     * PUBLIC_INTERFACE
+     * Writes the mutable state of a detached game with a single UPDATE, without loading it first.
+     * The row is only written if its version still matches the game's, and the version is then incremented.
+     * @PreUpdate and @Version handling do not run for bulk updates, so callers set updatedAt themselves
+     * and call {@link Game#versionWritten()} on success.
+     * @param game detached game carrying the new state
+     * @return number of rows updated (0 if the game no longer exists or was changed by another writer)
+     */
+    @Modifying
+    @Query("update Game g set g.currentFEN = :#{#game.currentFEN}, g.turn = :#{#game.turn}, g.status = :#{#game.status}, "
+            + "g.blackPlayerId = :#{#game.blackPlayerId}, g.plyCount = :#{#game.plyCount}, "
+            + "g.moveData = :#{#game.moveData}, g.moveHistory = :#{#game.moveHistory}, "
+            + "g.positionKeys = :#{#game.positionKeys}, g.updatedAt = :#{#game.updatedAt}, "
+            + "g.version = g.version + 1 where g.id = :#{#game.id} and g.version = :#{#game.version}")
+    int updateState(@Param("game") Game game);
 }
@@ -0,0 +1,89 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Persistence used by the game hot path (moves, joins, resignations, history).
+ * The implementation is chosen with chess.persistence.mode: "sync" (default, {@link JpaGameStore})
+ * writes each command in its own database transaction; "jdbc" ({@link JdbcGameStore}) does the same
+ * with prepared statements instead of Hibernate; "write-behind" ({@link WriteBehindGameStore})
+ * journals it locally and writes to the database in batches; "journal" ({@link JournalGameStore})
+ * keeps games in memory, backed only by an event journal and snapshots on local disk.
+ */
+public interface GameStore {
+
+    /**
+     * PUBLIC_INTERFACE
+     * Runs one command as a unit: its writes become durable together or not at all. Transaction
+     * synchronizations registered by the command see the outcome in afterCompletion.
+     * @param command command issuing reads and writes through this store
+     * @return the command's result
+     */
+    <T> T inUnit(Supplier<T> command);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Persists a new game; called in the caller's transaction, outside of {@link #inUnit}.
+     * @param game new game without an id
+     * @return the persisted game with its id assigned
+     */
+    Game create(Game game);
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param id game id
+     * @return the game including all accepted writes, or empty if it does not exist
+     */
+    Optional<Game> find(UUID id);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Writes the mutable state of a game and advances its version.
+     * @param game game carrying the new state
+     * @throws com.example.chessgamebackend.exception.GameNotFoundException if the game no longer exists
+     * @throws org.springframework.dao.OptimisticLockingFailureException if another writer changed it first
+     */
+    void update(Game game);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Like {@link #update}, for a move that changed only the position: FEN, turn, status, ply count and
+     * position keys. A store may leave the keys out and rebuild them from the move rows when the game is loaded.
+     * Stores that write whole rows anyway need not distinguish the two.
+     * @param game game carrying the new position
+     */
+    default void updatePosition(Game game) {
+        update(game);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param move new move row
+     * @param irreversible whether the move reset the halfmove clock (capture or pawn move), so no earlier
+     *                     position can repeat; stores that replay positions record it, others ignore it
+     */
+    void insertMove(GameMove move, boolean irreversible);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Removes a game's move rows once they have been archived into Game.moveData.
+     * @param gameId game id
+     */
+    void deleteMoves(UUID gameId);
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param gameId game id
+     * @param fromPly first ply (inclusive)
+     * @param toPly last ply (inclusive)
+     * @return the game's move rows in the ply range, in ply order, including this unit's inserts
+     */
+    List<GameMove> moves(UUID gameId, int fromPly, int toPly);
+}
@@ -0,0 +1,227 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.PieceType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * Prepared-statement access to games and game_moves for the move hot path, bypassing Hibernate:
+ * no persistence context, no dirty checking, and statements that touch only the columns a command changed.
+ * Reads skip the LOB columns (archive and legacy history) unless the game has them. An ongoing game's
+ * repetition window is rebuilt from its move rows on load, so ordinary moves need not rewrite it.
+ * {@link GameRepository} and {@link GameMoveRepository} remain for creating games and for admin or batch use.
+ * Statements join the caller's transaction.
+ */
+@Repository
+public class JdbcGameRepository {
+
+    private static final String SELECT_STATE = "select id, current_fen, status, turn, white_player_id, black_player_id, "
+            + "ply_count, version, created_at, updated_at, "
+            + "(move_data is not null or move_history is not null) as has_history from games where id = ?";
+    private static final String SELECT_HISTORY = "select move_data, move_history from games where id = ?";
+    private static final String SELECT_POSITION_KEYS = "select position_key from game_moves where game_id = ? "
+            + "and ply between ? and ? order by ply";
+    private static final String EXISTS = "select count(*) from games where id = ?";
+    // After a move that neither finishes the game nor changes its players
+    private static final String UPDATE_POSITION = "update games set current_fen = ?, turn = ?, status = ?, ply_count = ?, "
+            + "updated_at = ?, version = version + 1 where id = ? and version = ?";
+    private static final String UPDATE_STATE = "update games set current_fen = ?, turn = ?, status = ?, black_player_id = ?, "
+            + "ply_count = ?, move_data = ?, move_history = ?, position_keys = ?, updated_at = ?, version = version + 1 "
+            + "where id = ? and version = ?";
+    private static final String INSERT_MOVE = "insert into game_moves (game_id, ply, from_square, to_square, promotion, "
+            + "san, position_key, played_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_MOVES = "select game_id, ply, from_square, to_square, promotion, san, position_key, "
+            + "played_at from game_moves where game_id = ? and ply between ? and ? order by ply";
+    private static final String DELETE_MOVES = "delete from game_moves where game_id = ?";
+
+    private static final RowMapper<GameMove> MOVE_ROW = (rs, n) -> {
+        String promotion = rs.getString("promotion");
+        return new GameMove(uuid(rs.getBytes("game_id")), rs.getInt("ply"), rs.getString("from_square"),
+                rs.getString("to_square"), promotion == null ? null : PieceType.valueOf(promotion), rs.getString("san"),
+                rs.getLong("position_key"), instant(rs, "played_at"));
+    };
+
+    private static final RowMapper<StateRow> STATE_ROW = (rs, n) -> {
+        Game g = Game.restore(uuid(rs.getBytes("id")), instant(rs, "created_at"), instant(rs, "updated_at"),
+                rs.getLong("version"));
+        g.setCurrentFEN(rs.getString("current_fen"));
+        g.setStatus(GameStatus.valueOf(rs.getString("status")));
+        g.setTurn(Color.valueOf(rs.getString("turn")));
+        g.setWhitePlayerId(rs.getString("white_player_id"));
+        g.setBlackPlayerId(rs.getString("black_player_id"));
+        g.setPlyCount(rs.getInt("ply_count"));
+        return new StateRow(g, rs.getBoolean("has_history"));
+    };
+
+    private static final long START_KEY = startKey();
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcGameRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Loads a game without its LOB history columns; those are read in a second query only if set
+     * (finished games and games with a legacy JSON history). An ongoing game gets its repetition window
+     * from the move rows since its last irreversible move.
+     * @param id game id
+     * @return detached game, or empty if it does not exist
+     */
+    public Optional<Game> findState(UUID id) {
+        List<StateRow> rows = jdbc.query(SELECT_STATE, STATE_ROW, bytes(id));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Game g = rows.get(0).game();
+        if (rows.get(0).hasHistory()) {
+            jdbc.query(SELECT_HISTORY, (RowMapper<Void>) (rs, n) -> {
+                g.setMoveData(rs.getBytes("move_data"));
+                g.setMoveHistory(rs.getString("move_history"));
+                return null;
+            }, bytes(id));
+        }
+        if (g.getStatus() == GameStatus.ONGOING) {
+            g.setPositionKeys(repetitionWindow(g));
+        }
+        return Optional.of(g);
+    }
+
+    /**
+     * Keys of the positions since the last irreversible move, as {@link Game#recordPosition} keeps them: the FEN's
+     * halfmove clock says how many plies back that move was, and each move row holds the key of the position it
+     * reached. A window reaching back to the start also holds the initial position, where every game begins.
+     * Plies archived from a legacy history have no rows, so their positions are missing.
+     */
+    private byte[] repetitionWindow(Game g) {
+        String fen = g.getCurrentFEN();
+        int[] f = new int[10];
+        int halfmoves = Board.fenFields(fen, f) > 4 ? Board.parseCounter(fen, f[8], f[9], 0) : 0;
+        int first = g.getPlyCount() - halfmoves; // ply of the irreversible move, 0 for the initial position
+        List<Long> keys = g.getPlyCount() > 0
+                ? jdbc.query(SELECT_POSITION_KEYS, (rs, n) -> rs.getLong("position_key"), bytes(g.getId()),
+                        Math.max(first, 1), g.getPlyCount())
+                : List.of();
+        boolean fromStart = first <= 0;
+        ByteBuffer window = ByteBuffer.allocate(Long.BYTES * (keys.size() + (fromStart ? 1 : 0)));
+        if (fromStart) {
+            window.putLong(START_KEY);
+        }
+        for (long key : keys) {
+            window.putLong(key);
+        }
+        return window.array();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param id game id
+     * @return whether the game row exists
+     */
+    public boolean exists(UUID id) {
+        Integer count = jdbc.queryForObject(EXISTS, Integer.class, bytes(id));
+        return count != null && count > 0;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Writes the position columns after an ordinary move, if the stored version still matches the game's,
+     * and increments it. Players, archive, legacy history and position keys are left untouched; the keys are
+     * rebuilt from the move rows when the game is loaded.
+     * @param game game carrying the new position
+     * @return number of rows updated (0 if the game no longer exists or was changed by another writer)
+     */
+    public int updatePosition(Game game) {
+        return jdbc.update(UPDATE_POSITION, game.getCurrentFEN(), game.getTurn().name(), game.getStatus().name(),
+                game.getPlyCount(), utc(game.getUpdatedAt()), bytes(game.getId()), game.getVersion());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Writes all mutable columns of a game with the same version check as {@link #updatePosition}.
+     * @param game game carrying the new state
+     * @return number of rows updated
+     */
+    public int updateState(Game game) {
+        return jdbc.update(UPDATE_STATE, game.getCurrentFEN(), game.getTurn().name(), game.getStatus().name(),
+                game.getBlackPlayerId(), game.getPlyCount(), game.getMoveData(), game.getMoveHistory(),
+                game.getPositionKeys(), utc(game.getUpdatedAt()), bytes(game.getId()), game.getVersion());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param move new move row; a row already stored for the ply fails with DuplicateKeyException
+     */
+    public void insertMove(GameMove move) {
+        jdbc.update(INSERT_MOVE, bytes(move.getGameId()), move.getPly(), move.getFromSquare(), move.getToSquare(),
+                move.getPromotion() == null ? null : move.getPromotion().name(), move.getSan(), move.getPositionKey(),
+                utc(move.getPlayedAt()));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param gameId game id
+     * @param fromPly first ply (inclusive)
+     * @param toPly last ply (inclusive)
+     * @return the game's move rows in the ply range, in ply order
+     */
+    public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+        return jdbc.query(SELECT_MOVES, MOVE_ROW, bytes(gameId), fromPly, toPly);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param gameId game id
+     * @return number of move rows deleted
+     */
+    public int deleteMoves(UUID gameId) {
+        return jdbc.update(DELETE_MOVES, bytes(gameId));
+    }
+
+    private static long startKey() {
+        Board board = new Board();
+        board.initStartingPosition();
+        return board.getZobristKey();
+    }
+
+    private record StateRow(Game game, boolean hasHistory) {
+    }
+
+    /** BINARY(16) column value of a UUID, as Hibernate stores it. */
+    static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    static UUID uuid(byte[] b) {
+        ByteBuffer buf = ByteBuffer.wrap(b);
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+
+    /** Instant columns are TIMESTAMP WITH TIME ZONE; bound in UTC like Hibernate (hibernate.jdbc.time_zone). */
+    static OffsetDateTime utc(Instant t) {
+        return t == null ? null : OffsetDateTime.ofInstant(t, ZoneOffset.UTC);
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime t = rs.getObject(column, OffsetDateTime.class);
+        return t == null ? null : t.toInstant();
+    }
+}
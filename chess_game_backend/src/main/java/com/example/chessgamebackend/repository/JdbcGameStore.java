@@ -0,0 +1,85 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.exception.GameNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Synchronous store like {@link JpaGameStore}, but the hot path runs on {@link JdbcGameRepository}:
+ * loads skip the LOB columns and an ordinary move issues one insert plus one targeted UPDATE of the
+ * position columns. New games are still persisted through JPA.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.persistence.mode", havingValue = "jdbc")
+public class JdbcGameStore implements GameStore {
+
+    private final GameRepository repository;
+    private final JdbcGameRepository jdbc;
+    private final TransactionTemplate transactions;
+
+    public JdbcGameStore(GameRepository repository, JdbcGameRepository jdbc, TransactionTemplate transactions) {
+        this.repository = repository;
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public <T> T inUnit(Supplier<T> command) {
+        return transactions.execute(status -> command.get());
+    }
+
+    @Override
+    public Game create(Game game) {
+        return repository.saveAndFlush(game);
+    }
+
+    @Override
+    public Optional<Game> find(UUID id) {
+        return jdbc.findState(id);
+    }
+
+    @Override
+    public void update(Game game) {
+        written(game, jdbc.updateState(game));
+    }
+
+    @Override
+    public void updatePosition(Game game) {
+        written(game, jdbc.updatePosition(game));
+    }
+
+    @Override
+    public void insertMove(GameMove move, boolean irreversible) {
+        jdbc.insertMove(move);
+    }
+
+    @Override
+    public void deleteMoves(UUID gameId) {
+        jdbc.deleteMoves(gameId);
+    }
+
+    @Override
+    public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+        return jdbc.moves(gameId, fromPly, toPly);
+    }
+
+    private void written(Game game, int rows) {
+        if (rows == 0) {
+            if (!jdbc.exists(game.getId())) {
+                throw new GameNotFoundException("Game not found: " + game.getId());
+            }
+            throw new OptimisticLockingFailureException("Game " + game.getId() + " was changed by another writer");
+        }
+        game.versionWritten();
+    }
+}
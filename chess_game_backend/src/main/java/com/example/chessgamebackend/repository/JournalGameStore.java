@@ -0,0 +1,683 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.*;
+import com.example.chessgamebackend.exception.GameNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.example.chessgamebackend.repository.RecordIO.*;
+
+/**
+ * PUBLIC_INTERFACE
+ * Event-sourced store: games live in memory and every change is an event (created, joined, move
+ * played, resigned) appended to a {@link SegmentJournal} under chess.journal.dir. No database is involved.
+ *
+ * Group commit: a writer thread takes every event queued since its last write, appends them with one
+ * gathering write and one fsync, applies them to the in-memory games in journal order and only then
+ * completes the waiting commands, so a command never returns before its event is durable. A unit that
+ * plays several moves queues one event per move together, so they share a write. Segments roll
+ * at chess.journal.segment-size.
+ *
+ * Every chess.journal.snapshot-interval the games are written to a snapshot file tagged with the last
+ * applied journal sequence number, and segments wholly covered by it are deleted. On startup the latest
+ * snapshot is memory-mapped and loaded, the journal tail after it is replayed, and a fresh snapshot
+ * replaces both.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.persistence.mode", havingValue = "journal")
+public class JournalGameStore implements GameStore, SmartInitializingSingleton {
+
+    private static final byte CREATED = 1;
+    private static final byte JOINED = 2;
+    private static final byte MOVE_PLAYED = 3;
+    private static final byte RESIGNED = 4;
+
+    private static final int SNAPSHOT_MAGIC = 0x4753; // "GS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    static final String SEGMENT_PREFIX = "events-";
+
+    private final Path dir;
+    private final SegmentJournal journal;
+    private final long segmentBytes;
+    private final Duration snapshotInterval;
+    private final TransactionTemplate units;
+    private final ThreadLocal<Unit> unit = new ThreadLocal<>();
+
+    // Materialized games; guarded by synchronizing on the map, which the writer holds while applying
+    private final Map<UUID, Entry> games = new HashMap<>();
+    private long appliedSequence;
+
+    // Guards the queue and the segment bookkeeping
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private List<Pending> queue = new ArrayList<>();
+    private long nextSequence;
+    private final List<ClosedSegment> closedSegments = new ArrayList<>();
+    private boolean running;
+
+    private Thread writer;
+    private ScheduledExecutorService snapshots;
+
+    @Autowired
+    public JournalGameStore(PlatformTransactionManager transactionManager,
+                            @Value("${chess.journal.dir:data/journal}") String dir,
+                            @Value("${chess.journal.segment-size:64MB}") DataSize segmentSize,
+                            @Value("${chess.journal.snapshot-interval:5m}") Duration snapshotInterval) {
+        this(transactionManager, new SegmentJournal(Path.of(dir), SEGMENT_PREFIX), Path.of(dir), segmentSize, snapshotInterval);
+    }
+
+    /** With a given journal over the segments in dir (named {@link #SEGMENT_PREFIX}N.log). */
+    JournalGameStore(PlatformTransactionManager transactionManager, SegmentJournal journal, Path dir, DataSize segmentSize,
+                     Duration snapshotInterval) {
+        this.dir = dir;
+        this.journal = journal;
+        this.segmentBytes = segmentSize.toBytes();
+        this.snapshotInterval = snapshotInterval;
+        // Synchronization without a connection, so callbacks such as cache invalidation still see the outcome
+        this.units = new TransactionTemplate(transactionManager);
+        this.units.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+    }
+
+    /** Restores the games from the latest snapshot and the journal tail, then starts writing. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Path> oldSegments = journal.existingSegments();
+        List<Path> oldSnapshots = snapshotFiles();
+        if (!oldSnapshots.isEmpty()) {
+            loadSnapshot(oldSnapshots.get(oldSnapshots.size() - 1));
+        }
+        for (Path segment : oldSegments) {
+            for (byte[] record : SegmentJournal.read(segment)) {
+                ByteBuffer in = ByteBuffer.wrap(record);
+                long sequence = in.getLong();
+                if (sequence > appliedSequence) {
+                    apply(decode(in));
+                    appliedSequence = sequence;
+                }
+            }
+        }
+        nextSequence = appliedSequence;
+        if (!oldSegments.isEmpty()) {
+            snapshot();
+            SegmentJournal.delete(oldSegments);
+        }
+        journal.open();
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        snapshots = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = snapshotInterval.toMillis();
+        snapshots.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (UncheckedIOException e) {
+                // Tried again at the next interval; until then the journal segments are simply kept
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (snapshots == null) {
+            return;
+        }
+        snapshots.shutdown();
+        snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        lock.lock();
+        try {
+            running = false;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        writer.join();
+        snapshot();
+        journal.close();
+    }
+
+    @Override
+    public <T> T inUnit(Supplier<T> command) {
+        return units.execute(status -> {
+            Unit u = new Unit();
+            unit.set(u);
+            try {
+                T result = command.get();
+                Event event = toEvent(u);
+                if (event != null) {
+                    u.events.add(event);
+                }
+                if (!u.events.isEmpty()) {
+                    append(u.events);
+                }
+                return result;
+            } finally {
+                unit.remove();
+            }
+        });
+    }
+
+    @Override
+    public Game create(Game game) {
+        UUID id = UUID.randomUUID();
+        Instant now = Instant.now();
+        append(List.of(new Created(id, game.getWhitePlayerId(), game.getBlackPlayerId(), game.getCurrentFEN(), game.getTurn(),
+                game.getStatus(), game.getPositionKeys(), now)));
+        return find(id).orElseThrow();
+    }
+
+    @Override
+    public Optional<Game> find(UUID id) {
+        synchronized (games) {
+            Entry e = games.get(id);
+            return e == null ? Optional.empty() : Optional.of(e.game.copy());
+        }
+    }
+
+    @Override
+    public void update(Game game) {
+        Unit u = currentUnit();
+        game.versionWritten();
+        if (u.move != null) {
+            // The game now holds the position after the move, which the event records
+            u.events.add(new MovePlayed(u.move, game.getCurrentFEN(), game.getTurn(), game.getStatus(), u.irreversible,
+                    game.getUpdatedAt()));
+            u.move = null;
+            u.updated = null;
+        } else {
+            u.updated = game;
+        }
+    }
+
+    @Override
+    public void insertMove(GameMove move, boolean irreversible) {
+        Unit u = currentUnit();
+        if (u.move != null) {
+            throw new IllegalStateException("Move without a game update");
+        }
+        u.move = move;
+        u.irreversible = irreversible;
+        u.rows.add(move);
+    }
+
+    @Override
+    public void deleteMoves(UUID gameId) {
+        currentUnit(); // rows are folded into the archive when the game's finishing event is applied
+    }
+
+    @Override
+    public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+        List<GameMove> rows = new ArrayList<>();
+        synchronized (games) {
+            Entry e = games.get(gameId);
+            if (e != null) {
+                for (GameMove m : e.rows) {
+                    if (m.getPly() >= fromPly && m.getPly() <= toPly) rows.add(m);
+                }
+            }
+        }
+        Unit u = unit.get();
+        if (u != null) {
+            for (GameMove m : u.rows) {
+                if (m.getGameId().equals(gameId) && m.getPly() >= fromPly && m.getPly() <= toPly) rows.add(m);
+            }
+        }
+        return rows;
+    }
+
+    private Unit currentUnit() {
+        Unit u = unit.get();
+        if (u == null) {
+            throw new IllegalStateException("Write outside of GameStore.inUnit");
+        }
+        return u;
+    }
+
+    /** Names the unit's change other than its moves as a game event, comparing against the stored game. */
+    private Event toEvent(Unit u) {
+        if (u.move != null) throw new IllegalStateException("Move without a game update");
+        Game g = u.updated;
+        if (g == null) {
+            return null;
+        }
+        GameStatus storedStatus;
+        String storedBlack;
+        synchronized (games) {
+            Entry e = games.get(g.getId());
+            if (e == null) throw new GameNotFoundException("Game not found: " + g.getId());
+            storedStatus = e.game.getStatus();
+            storedBlack = e.game.getBlackPlayerId();
+        }
+        if (g.getStatus() == GameStatus.RESIGNED && storedStatus != GameStatus.RESIGNED) {
+            return new Resigned(g.getId(), g.getUpdatedAt());
+        }
+        if (!Objects.equals(g.getBlackPlayerId(), storedBlack)) {
+            return new Joined(g.getId(), g.getBlackPlayerId(), g.getUpdatedAt());
+        }
+        throw new IllegalStateException("Change to game " + g.getId() + " has no journal event");
+    }
+
+    /**
+     * Queues a unit's events for the next group commit, all in the same write, and waits until they are
+     * durable and applied.
+     */
+    private void append(List<Event> events) {
+        List<byte[]> bodies = new ArrayList<>(events.size());
+        for (Event event : events) {
+            bodies.add(encode(event));
+        }
+        CompletableFuture<Void> done = null;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Journal is not running");
+            }
+            for (int i = 0; i < events.size(); i++) {
+                byte[] body = bodies.get(i);
+                byte[] record = ByteBuffer.allocate(Long.BYTES + body.length).putLong(++nextSequence).put(body).array();
+                done = new CompletableFuture<>();
+                queue.add(new Pending(nextSequence, events.get(i), record, done));
+            }
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            done.join(); // the writer takes the whole queue, so the last event is written and applied with the others
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<Pending> batch;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && running) {
+                    queued.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = queue;
+                queue = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            List<byte[]> records = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                records.add(p.record);
+            }
+            long before = -1;
+            try {
+                before = journal.size();
+                journal.append(records);
+                journal.force();
+            } catch (IOException e) {
+                try {
+                    if (before >= 0) journal.truncate(before); // the commands fail, so their events must not replay
+                } catch (IOException ignored) {
+                    // the next append reports the problem again
+                }
+                UncheckedIOException failure = new UncheckedIOException(e);
+                for (Pending p : batch) {
+                    p.done.completeExceptionally(failure);
+                }
+                continue;
+            }
+            long last = batch.get(batch.size() - 1).sequence;
+            synchronized (games) {
+                for (Pending p : batch) {
+                    apply(p.event);
+                }
+                appliedSequence = last;
+            }
+            for (Pending p : batch) {
+                p.done.complete(null);
+            }
+            rollIfFull(last);
+        }
+    }
+
+    private void rollIfFull(long lastSequence) {
+        try {
+            if (journal.size() < segmentBytes) {
+                return;
+            }
+        } catch (IOException e) {
+            return;
+        }
+        Path closed = journal.roll();
+        lock.lock();
+        try {
+            closedSegments.add(new ClosedSegment(closed, lastSequence));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Event event) {
+        if (event instanceof Created c) {
+            Game g = Game.restore(c.id(), c.at(), c.at(), 0);
+            g.setWhitePlayerId(c.white());
+            g.setBlackPlayerId(c.black());
+            g.setCurrentFEN(c.fen());
+            g.setTurn(c.turn());
+            g.setStatus(c.status());
+            g.setPositionKeys(c.positionKeys());
+            games.put(c.id(), new Entry(g, new ArrayList<>()));
+        } else if (event instanceof Joined j) {
+            Entry e = games.get(j.id());
+            e.game.setBlackPlayerId(j.black());
+            touch(e.game, j.at());
+        } else if (event instanceof MovePlayed m) {
+            Entry e = games.get(m.move().getGameId());
+            e.rows.add(m.move());
+            e.game.setPlyCount(m.move().getPly());
+            e.game.setCurrentFEN(m.fen());
+            e.game.setTurn(m.turn());
+            e.game.setStatus(m.status());
+            e.game.recordPosition(m.move().getPositionKey(), m.irreversible());
+            touch(e.game, m.at());
+            archiveIfFinished(e);
+        } else if (event instanceof Resigned r) {
+            Entry e = games.get(r.id());
+            e.game.setStatus(GameStatus.RESIGNED);
+            touch(e.game, r.at());
+            archiveIfFinished(e);
+        }
+    }
+
+    private static void touch(Game g, Instant at) {
+        g.setUpdatedAt(at);
+        g.versionWritten();
+    }
+
+    /** Same archiving as the service does on a finished game: rows fold into moveData. */
+    private static void archiveIfFinished(Entry e) {
+        if (e.game.getStatus() == GameStatus.ONGOING) {
+            return;
+        }
+        int[] archived = e.game.getMoveData() == null ? new int[0] : MoveHistoryCodec.decode(e.game.getMoveData());
+        int[] moves = Arrays.copyOf(archived, archived.length + e.rows.size());
+        int n = archived.length;
+        for (GameMove m : e.rows) {
+            moves[n++] = PackedMove.of(Board.squareIndex(m.getFromSquare()), Board.squareIndex(m.getToSquare()), m.getPromotion());
+        }
+        e.game.setMoveData(MoveHistoryCodec.encode(moves));
+        e.rows.clear();
+    }
+
+    /** Writes all games to a new snapshot, then drops older snapshots and the segments it covers. */
+    private void snapshot() {
+        long sequence;
+        List<Entry> copies;
+        synchronized (games) {
+            sequence = appliedSequence;
+            copies = new ArrayList<>(games.size());
+            for (Entry e : games.values()) {
+                copies.add(new Entry(e.game.copy(), new ArrayList<>(e.rows)));
+            }
+        }
+        Path target = dir.resolve(SNAPSHOT_PREFIX + sequence + SNAPSHOT_SUFFIX);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path tmp = dir.resolve(SNAPSHOT_PREFIX + sequence + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                out.writeShort(SNAPSHOT_MAGIC);
+                out.writeShort(SNAPSHOT_VERSION);
+                out.writeLong(sequence);
+                out.writeInt(copies.size());
+                for (Entry e : copies) {
+                    writeGame(out, e);
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            for (Path old : snapshotFiles()) {
+                if (!old.equals(target)) Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Path> covered = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Iterator<ClosedSegment> it = closedSegments.iterator(); it.hasNext(); ) {
+                ClosedSegment s = it.next();
+                if (s.lastSequence <= sequence) {
+                    covered.add(s.path);
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        SegmentJournal.delete(covered);
+    }
+
+    private void loadSnapshot(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getShort() != SNAPSHOT_MAGIC || in.getShort() != SNAPSHOT_VERSION) {
+                throw new IllegalStateException("Unsupported snapshot " + file);
+            }
+            long sequence = in.getLong();
+            int count = in.getInt();
+            synchronized (games) {
+                for (int i = 0; i < count; i++) {
+                    Entry e = readGame(in);
+                    games.put(e.game.getId(), e);
+                }
+                appliedSequence = sequence;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> snapshotFiles() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                return files.filter(p -> {
+                            String name = p.getFileName().toString();
+                            return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                        })
+                        .sorted(Comparator.comparingLong(JournalGameStore::snapshotSequence))
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long snapshotSequence(Path p) {
+        String name = p.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private static void writeGame(DataOutput out, Entry e) throws IOException {
+        Game g = e.game;
+        writeUuid(out, g.getId());
+        writeText(out, g.getWhitePlayerId());
+        writeText(out, g.getBlackPlayerId());
+        writeText(out, g.getCurrentFEN());
+        writeText(out, g.getTurn().name());
+        writeText(out, g.getStatus().name());
+        out.writeInt(g.getPlyCount());
+        writeBlob(out, g.getMoveData());
+        writeBlob(out, g.getPositionKeys());
+        writeInstant(out, g.getCreatedAt());
+        writeInstant(out, g.getUpdatedAt());
+        out.writeLong(g.getVersion());
+        out.writeInt(e.rows.size());
+        for (GameMove m : e.rows) {
+            writeMove(out, m);
+        }
+    }
+
+    private static Entry readGame(ByteBuffer in) {
+        UUID id = readUuid(in);
+        String white = readText(in);
+        String black = readText(in);
+        String fen = readText(in);
+        Color turn = Color.valueOf(readText(in));
+        GameStatus status = GameStatus.valueOf(readText(in));
+        int plyCount = in.getInt();
+        byte[] moveData = readBlob(in);
+        byte[] positionKeys = readBlob(in);
+        Instant createdAt = readInstant(in);
+        Instant updatedAt = readInstant(in);
+        Game g = Game.restore(id, createdAt, updatedAt, in.getLong());
+        g.setWhitePlayerId(white);
+        g.setBlackPlayerId(black);
+        g.setCurrentFEN(fen);
+        g.setTurn(turn);
+        g.setStatus(status);
+        g.setPlyCount(plyCount);
+        g.setMoveData(moveData);
+        g.setPositionKeys(positionKeys);
+        int rows = in.getInt();
+        List<GameMove> moves = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            moves.add(readMove(in));
+        }
+        return new Entry(g, moves);
+    }
+
+    private static byte[] encode(Event event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (event instanceof Created c) {
+                out.writeByte(CREATED);
+                writeUuid(out, c.id());
+                writeText(out, c.white());
+                writeText(out, c.black());
+                writeText(out, c.fen());
+                writeText(out, c.turn().name());
+                writeText(out, c.status().name());
+                writeBlob(out, c.positionKeys());
+                writeInstant(out, c.at());
+            } else if (event instanceof Joined j) {
+                out.writeByte(JOINED);
+                writeUuid(out, j.id());
+                writeText(out, j.black());
+                writeInstant(out, j.at());
+            } else if (event instanceof MovePlayed m) {
+                out.writeByte(MOVE_PLAYED);
+                writeMove(out, m.move());
+                writeText(out, m.fen());
+                writeText(out, m.turn().name());
+                writeText(out, m.status().name());
+                out.writeBoolean(m.irreversible());
+                writeInstant(out, m.at());
+            } else if (event instanceof Resigned r) {
+                out.writeByte(RESIGNED);
+                writeUuid(out, r.id());
+                writeInstant(out, r.at());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Event decode(ByteBuffer in) {
+        byte type = in.get();
+        return switch (type) {
+            case CREATED -> new Created(readUuid(in), readText(in), readText(in), readText(in), Color.valueOf(readText(in)),
+                    GameStatus.valueOf(readText(in)), readBlob(in), readInstant(in));
+            case JOINED -> new Joined(readUuid(in), readText(in), readInstant(in));
+            case MOVE_PLAYED -> new MovePlayed(readMove(in), readText(in), Color.valueOf(readText(in)),
+                    GameStatus.valueOf(readText(in)), in.get() != 0, readInstant(in));
+            case RESIGNED -> new Resigned(readUuid(in), readInstant(in));
+            default -> throw new IllegalStateException("Unknown journal event type " + type);
+        };
+    }
+
+    private sealed interface Event permits Created, Joined, MovePlayed, Resigned {
+    }
+
+    private record Created(UUID id, String white, String black, String fen, Color turn, GameStatus status,
+                           byte[] positionKeys, Instant at) implements Event {
+    }
+
+    private record Joined(UUID id, String black, Instant at) implements Event {
+    }
+
+    private record MovePlayed(GameMove move, String fen, Color turn, GameStatus status, boolean irreversible,
+                              Instant at) implements Event {
+    }
+
+    private record Resigned(UUID id, Instant at) implements Event {
+    }
+
+    /** A game and its move rows not yet folded into the archive. */
+    private record Entry(Game game, List<GameMove> rows) {
+    }
+
+    private record Pending(long sequence, Event event, byte[] record, CompletableFuture<Void> done) {
+    }
+
+    private record ClosedSegment(Path path, long lastSequence) {
+    }
+
+    /** Writes of the command in progress on this thread. */
+    private static final class Unit {
+        Game updated;
+        GameMove move; // inserted, waiting for the game update that completes its event
+        boolean irreversible; // of that move
+        final List<GameMove> rows = new ArrayList<>();
+        final List<Event> events = new ArrayList<>();
+    }
+}
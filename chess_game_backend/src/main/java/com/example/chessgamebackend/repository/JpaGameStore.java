@@ -0,0 +1,74 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.exception.GameNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Synchronous store: each unit is one database transaction through the JPA repositories.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.persistence.mode", havingValue = "sync", matchIfMissing = true)
+public class JpaGameStore implements GameStore {
+
+    private final GameRepository repository;
+    private final GameMoveRepository moveRepository;
+    private final TransactionTemplate transactions;
+
+    public JpaGameStore(GameRepository repository, GameMoveRepository moveRepository, TransactionTemplate transactions) {
+        this.repository = repository;
+        this.moveRepository = moveRepository;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public <T> T inUnit(Supplier<T> command) {
+        return transactions.execute(status -> command.get());
+    }
+
+    @Override
+    public Game create(Game game) {
+        return repository.saveAndFlush(game);
+    }
+
+    @Override
+    public Optional<Game> find(UUID id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public void update(Game game) {
+        if (repository.updateState(game) == 0) {
+            if (!repository.existsById(game.getId())) {
+                throw new GameNotFoundException("Game not found: " + game.getId());
+            }
+            throw new OptimisticLockingFailureException("Game " + game.getId() + " was changed by another writer");
+        }
+        game.versionWritten();
+    }
+
+    @Override
+    public void insertMove(GameMove move, boolean irreversible) {
+        moveRepository.save(move);
+    }
+
+    @Override
+    public void deleteMoves(UUID gameId) {
+        moveRepository.deleteByGameId(gameId);
+    }
+
+    @Override
+    public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+        return moveRepository.findByGameIdAndPlyBetweenOrderByPlyAsc(gameId, fromPly, toPly);
+    }
+}
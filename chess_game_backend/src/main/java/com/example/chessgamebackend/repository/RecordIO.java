@@ -0,0 +1,85 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.PieceType;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Field encoding shared by the journal and snapshot formats. Written through DataOutput and read
+ * from a ByteBuffer (a record payload or a memory-mapped file), both big-endian.
+ * Strings and byte arrays are length-prefixed, with -1 for null.
+ */
+final class RecordIO {
+
+    private RecordIO() {}
+
+    static void writeUuid(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    static void writeText(DataOutput out, String s) throws IOException {
+        writeBlob(out, s == null ? null : s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String readText(ByteBuffer in) {
+        byte[] b = readBlob(in);
+        return b == null ? null : new String(b, StandardCharsets.UTF_8);
+    }
+
+    static void writeBlob(DataOutput out, byte[] b) throws IOException {
+        out.writeInt(b == null ? -1 : b.length);
+        if (b != null) out.write(b);
+    }
+
+    static byte[] readBlob(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] b = new byte[length];
+        in.get(b);
+        return b;
+    }
+
+    static void writeInstant(DataOutput out, Instant t) throws IOException {
+        out.writeLong(t.getEpochSecond());
+        out.writeInt(t.getNano());
+    }
+
+    static Instant readInstant(ByteBuffer in) {
+        return Instant.ofEpochSecond(in.getLong(), in.getInt());
+    }
+
+    static void writeMove(DataOutput out, GameMove m) throws IOException {
+        writeUuid(out, m.getGameId());
+        out.writeInt(m.getPly());
+        writeText(out, m.getFromSquare());
+        writeText(out, m.getToSquare());
+        writeText(out, m.getPromotion() == null ? null : m.getPromotion().name());
+        writeText(out, m.getSan());
+        out.writeLong(m.getPositionKey());
+        writeInstant(out, m.getPlayedAt());
+    }
+
+    static GameMove readMove(ByteBuffer in) {
+        UUID gameId = readUuid(in);
+        int ply = in.getInt();
+        String from = readText(in);
+        String to = readText(in);
+        String promotion = readText(in);
+        String san = readText(in);
+        long positionKey = in.getLong();
+        Instant playedAt = readInstant(in);
+        return new GameMove(gameId, ply, from, to, promotion == null ? null : PieceType.valueOf(promotion), san,
+                positionKey, playedAt);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.chessgamebackend.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal as numbered segment files (PREFIX-N.log) in one directory.
+ * Each record is length | CRC32 | payload. Appends are buffered by the OS until {@link #force()};
+ * owners decide when to force, roll to a new segment and delete segments they no longer need.
+ * Not thread-safe; the owner serializes access. Not final, so tests can make writes fail.
+ */
+class SegmentJournal implements AutoCloseable {
+
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final String prefix;
+    private long sequence;
+    private Path current;
+    private FileChannel channel;
+
+    SegmentJournal(Path dir, String prefix) {
+        this.dir = dir;
+        this.prefix = prefix;
+    }
+
+    /** Segments left by a previous run, oldest first. */
+    List<Path> existingSegments() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                return files.filter(p -> {
+                            String name = p.getFileName().toString();
+                            return name.startsWith(prefix) && name.endsWith(SUFFIX);
+                        })
+                        .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Payloads of a segment's complete records; a torn record at the end is ignored. */
+    static List<byte[]> read(Path segment) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(segment));
+            List<byte[]> records = new ArrayList<>();
+            CRC32 crc = new CRC32();
+            while (buf.remaining() >= 8) {
+                int length = buf.getInt();
+                int checksum = buf.getInt();
+                if (length < 0 || length > buf.remaining()) break;
+                byte[] payload = new byte[length];
+                buf.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break;
+                records.add(payload);
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Opens a fresh segment numbered after any existing one. */
+    void open() {
+        for (Path p : existingSegments()) {
+            sequence = Math.max(sequence, sequenceOf(p));
+        }
+        current = openNext();
+    }
+
+    /** Appends records with one gathering write. */
+    void append(List<byte[]> payloads) throws IOException {
+        ByteBuffer[] bufs = new ByteBuffer[payloads.size()];
+        long total = 0;
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < bufs.length; i++) {
+            byte[] payload = payloads.get(i);
+            crc.reset();
+            crc.update(payload);
+            bufs[i] = ByteBuffer.allocate(8 + payload.length);
+            bufs[i].putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            total += bufs[i].remaining();
+        }
+        while (total > 0) {
+            total -= channel.write(bufs);
+        }
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /** Bytes in the current segment. */
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /** Cuts the current segment back to a size returned by {@link #size()}, dropping a failed append. */
+    void truncate(long size) throws IOException {
+        channel.truncate(size);
+        channel.position(size);
+    }
+
+    /** Closes the current segment and starts a new one. */
+    Path roll() {
+        Path closed = current;
+        closeChannel();
+        current = openNext();
+        return closed;
+    }
+
+    static void delete(List<Path> segments) {
+        for (Path p : segments) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    private Path openNext() {
+        Path p = dir.resolve(prefix + (++sequence) + SUFFIX);
+        try {
+            channel = FileChannel.open(p, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return p;
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long sequenceOf(Path p) {
+        String name = p.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,675 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.*;
+import com.example.chessgamebackend.exception.PersistenceBackpressureException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static com.example.chessgamebackend.repository.JdbcGameRepository.bytes;
+import static com.example.chessgamebackend.repository.JdbcGameRepository.utc;
+import static com.example.chessgamebackend.repository.RecordIO.*;
+
+/**
+ * PUBLIC_INTERFACE
+ * Write-behind store: a unit's writes are appended to a local {@link SegmentJournal} and forced to
+ * disk, and the command completes without touching the database. Appends are group commits: a journal
+ * writer thread takes every unit queued since its last write, appends them with one gathering write and
+ * one fsync, publishes them for the flusher and only then completes the waiting commands, so games never
+ * wait for each other's fsync one at a time. A flusher thread writes accepted units in
+ * JDBC batches once chess.write-behind.batch-size writes are pending or the oldest has waited
+ * chess.write-behind.flush-interval; several updates of one game in a batch collapse into one.
+ *
+ * At most chess.write-behind.capacity units may be unflushed; beyond that a unit with writes waits up to
+ * chess.write-behind.max-wait before it is journaled and is then refused, while units that only read are
+ * never held back. Reads (loading a game, reading move rows) overlay the database with the game's accepted
+ * writes that may not have reached it yet, kept per game until their batch is written, so they never wait
+ * for the flusher. Journal segments left by a
+ * crash are written to the database on startup. Flushes are idempotent (absolute game state,
+ * moves merged by key), so a segment replayed after its batch committed does no harm.
+ * Game updates carry no version check: this mode assumes one node owns its games.
+ *
+ * Metrics: "chess.write-behind.pending" (unflushed units) and "chess.write-behind.lag"
+ * (age in seconds of the oldest unflushed unit).
+ */
+@Component
+@ConditionalOnProperty(name = "chess.persistence.mode", havingValue = "write-behind")
+public class WriteBehindGameStore implements GameStore, SmartInitializingSingleton {
+
+    // H2 MERGE ... KEY: an upsert, so replaying a journal segment is harmless
+    private static final String MERGE_MOVE = "merge into game_moves (game_id, ply, from_square, to_square, promotion, "
+            + "san, position_key, played_at) key (game_id, ply) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_MOVES = "delete from game_moves where game_id = ?";
+    private static final String UPDATE_GAME = "update games set current_fen = ?, turn = ?, status = ?, black_player_id = ?, "
+            + "ply_count = ?, move_data = ?, move_history = ?, position_keys = ?, updated_at = ?, version = ? where id = ?";
+    private static final long RETRY_PAUSE_MILLIS = 1000;
+    static final String SEGMENT_PREFIX = "wb-";
+
+    private static final byte GAME_STATE = 1;
+    private static final byte MOVE_ROW = 2;
+    private static final byte DELETE_ROWS = 3;
+
+    private final GameRepository repository;
+    private final GameMoveRepository moveRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate units;
+    private final SegmentJournal journal;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int capacity;
+    private final long maxWaitNanos;
+
+    private final ThreadLocal<List<Op>> unit = new ThreadLocal<>();
+
+    // Guards everything below; never held across journal or database I/O
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Condition flushDue = lock.newCondition();
+    private final Condition progress = lock.newCondition();
+    private List<Submission> queue = new ArrayList<>(); // waiting for the journal writer
+    private boolean writing; // the journal writer holds a group taken from the queue
+    private boolean rollRequested; // by the flusher, so that the segments it has written can be deleted
+    private List<Op> pending = new ArrayList<>();
+    private int pendingUnits;
+    private final Map<UUID, List<Op>> unflushedByGame = new HashMap<>(); // pending and in-flight ops per game, oldest first
+    private final List<ClosedSegment> closedSegments = new ArrayList<>();
+    private long accepted; // units queued, being journaled or unflushed
+    private long journaled; // units durable in the journal, in the order the flusher takes them
+    private long flushed;
+    private volatile long pendingSince; // System.nanoTime() of the oldest pending unit, 0 if none
+    private volatile long inFlightSince; // same for the batch being written
+    private boolean running;
+    private Thread writer;
+    private Thread flusher;
+
+    @Autowired
+    public WriteBehindGameStore(GameRepository repository,
+                                GameMoveRepository moveRepository,
+                                JdbcTemplate jdbc,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry registry,
+                                @Value("${chess.write-behind.journal-dir:data/write-behind}") String journalDir,
+                                @Value("${chess.write-behind.batch-size:500}") int batchSize,
+                                @Value("${chess.write-behind.flush-interval:50ms}") Duration flushInterval,
+                                @Value("${chess.write-behind.capacity:20000}") int capacity,
+                                @Value("${chess.write-behind.max-wait:2s}") Duration maxWait) {
+        this(repository, moveRepository, jdbc, transactionManager, registry,
+                new SegmentJournal(Path.of(journalDir), SEGMENT_PREFIX), batchSize, flushInterval, capacity, maxWait);
+    }
+
+    /** With a given journal (segments named {@link #SEGMENT_PREFIX}N.log). */
+    WriteBehindGameStore(GameRepository repository, GameMoveRepository moveRepository, JdbcTemplate jdbc,
+                         PlatformTransactionManager transactionManager, MeterRegistry registry, SegmentJournal journal,
+                         int batchSize, Duration flushInterval, int capacity, Duration maxWait) {
+        this.repository = repository;
+        this.moveRepository = moveRepository;
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        // Synchronization without a connection, so callbacks such as cache invalidation still see the outcome
+        this.units = new TransactionTemplate(transactionManager);
+        this.units.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        this.journal = journal;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.capacity = capacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("chess.write-behind.pending", this, WriteBehindGameStore::unflushed)
+                .description("Accepted units not yet written to the database")
+                .register(registry);
+        Gauge.builder("chess.write-behind.lag", this, WriteBehindGameStore::lagSeconds)
+                .description("Age of the oldest unit not yet written to the database")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /** Replays what a previous run left in the journal, then starts the flusher. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Path> leftover = journal.existingSegments();
+        if (!leftover.isEmpty()) {
+            List<Op> ops = new ArrayList<>();
+            for (Path segment : leftover) {
+                for (byte[] record : SegmentJournal.read(segment)) {
+                    ops.addAll(decode(record));
+                }
+            }
+            write(ops);
+            SegmentJournal.delete(leftover);
+        }
+        journal.open();
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        writer = new Thread(this::journalLoop, "write-behind-journal");
+        writer.setDaemon(true);
+        writer.start();
+        flusher = new Thread(this::flushLoop, "write-behind-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /** Journals and writes what is queued and stops both threads; anything not written stays in the journal. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            queued.signal();
+            flushDue.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            writer.join();
+        }
+        if (flusher != null) {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + RETRY_PAUSE_MILLIS);
+        }
+        journal.close();
+    }
+
+    @Override
+    public <T> T inUnit(Supplier<T> command) {
+        return units.execute(status -> {
+            List<Op> ops = new ArrayList<>();
+            unit.set(ops);
+            try {
+                T result = command.get();
+                if (!ops.isEmpty()) {
+                    submit(ops);
+                }
+                return result;
+            } finally {
+                unit.remove();
+            }
+        });
+    }
+
+    /** New games are inserted synchronously, so the write-behind updates that follow always find their row. */
+    @Override
+    public Game create(Game game) {
+        return repository.saveAndFlush(game);
+    }
+
+    @Override
+    public Optional<Game> find(UUID id) {
+        List<Op> ops = unflushedOps(id);
+        Optional<Game> row = repository.findById(id);
+        GameState latest = null;
+        for (Op op : ops) {
+            if (op instanceof GameState g) {
+                latest = g;
+            }
+        }
+        return latest == null ? row : row.map(latest::applyTo);
+    }
+
+    @Override
+    public void update(Game game) {
+        game.versionWritten();
+        currentUnit().add(GameState.of(game));
+    }
+
+    @Override
+    public void insertMove(GameMove move, boolean irreversible) {
+        currentUnit().add(new MoveRow(move));
+    }
+
+    @Override
+    public void deleteMoves(UUID gameId) {
+        currentUnit().add(new DeleteRows(gameId));
+    }
+
+    @Override
+    public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+        List<Op> ops = unflushedOps(gameId);
+        List<Op> current = unit.get();
+        if (current != null) {
+            for (Op op : current) {
+                if (op.gameId().equals(gameId)) {
+                    ops.add(op);
+                }
+            }
+        }
+        TreeMap<Integer, GameMove> rows = new TreeMap<>();
+        for (GameMove m : moveRepository.findByGameIdAndPlyBetweenOrderByPlyAsc(gameId, fromPly, toPly)) {
+            rows.put(m.getPly(), m);
+        }
+        for (Op op : ops) {
+            if (op instanceof DeleteRows) {
+                rows.clear();
+            } else if (op instanceof MoveRow m && m.move().getPly() >= fromPly && m.move().getPly() <= toPly) {
+                rows.put(m.move().getPly(), m.move());
+            }
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * The game's accepted ops that may not be in the database yet. Taken before the database is read: a batch
+     * written in between is then both in the database and in the overlay, which is harmless since ops are
+     * idempotent, whereas the other order could miss it in both.
+     */
+    private List<Op> unflushedOps(UUID gameId) {
+        lock.lock();
+        try {
+            List<Op> ops = unflushedByGame.get(gameId);
+            return ops == null ? new ArrayList<>() : new ArrayList<>(ops);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Op> currentUnit() {
+        List<Op> ops = unit.get();
+        if (ops == null) {
+            throw new IllegalStateException("Write outside of GameStore.inUnit");
+        }
+        return ops;
+    }
+
+    /** Called with the lock held, before a unit is queued. */
+    private void awaitCapacity() {
+        try {
+            long nanos = maxWaitNanos;
+            while (accepted - flushed >= capacity) {
+                if (nanos <= 0) {
+                    throw new PersistenceBackpressureException("Persistence is " + (accepted - flushed) + " writes behind; retry later");
+                }
+                nanos = progress.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceBackpressureException("Interrupted while waiting for persistence");
+        }
+    }
+
+    /**
+     * Queues a unit's ops for the next group commit and waits until the journal writer has forced them to disk
+     * and published them to the flusher and to reads.
+     */
+    private void submit(List<Op> ops) {
+        Submission submission = new Submission(ops, encode(ops), new CompletableFuture<>());
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Write-behind store is not running");
+            }
+            awaitCapacity();
+            queue.add(submission);
+            accepted++;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            submission.done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void journalLoop() {
+        while (true) {
+            List<Submission> group;
+            boolean roll;
+            long journaledBefore;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !rollRequested && running) {
+                    queued.awaitUninterruptibly();
+                }
+                if (queue.isEmpty() && !rollRequested) {
+                    return;
+                }
+                group = queue;
+                queue = new ArrayList<>();
+                roll = rollRequested;
+                rollRequested = false;
+                writing = !group.isEmpty();
+                journaledBefore = journaled;
+            } finally {
+                lock.unlock();
+            }
+            if (roll) {
+                // Everything journaled so far is in the closed segment, so it can go once that many units are flushed
+                Path closed = journal.roll();
+                lock.lock();
+                try {
+                    closedSegments.add(new ClosedSegment(closed, journaledBefore));
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+            List<byte[]> records = new ArrayList<>(group.size());
+            for (Submission u : group) {
+                records.add(u.record);
+            }
+            long before = -1;
+            try {
+                before = journal.size();
+                journal.append(records);
+                journal.force();
+            } catch (IOException e) {
+                try {
+                    // The units fail, so their records must not replay; a torn one would also hide every record after it
+                    if (before >= 0) journal.truncate(before);
+                } catch (IOException ignored) {
+                    // the next append reports the problem again
+                }
+                lock.lock();
+                try {
+                    accepted -= group.size();
+                    writing = false;
+                    progress.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                UncheckedIOException failure = new UncheckedIOException(e);
+                for (Submission u : group) {
+                    u.done.completeExceptionally(failure);
+                }
+                continue;
+            }
+            lock.lock();
+            try {
+                if (pendingUnits == 0) {
+                    pendingSince = System.nanoTime();
+                }
+                for (Submission u : group) {
+                    pending.addAll(u.ops);
+                    for (Op op : u.ops) {
+                        unflushedByGame.computeIfAbsent(op.gameId(), k -> new ArrayList<>()).add(op);
+                    }
+                }
+                pendingUnits += group.size();
+                journaled += group.size();
+                writing = false;
+                if (pending.size() >= batchSize) {
+                    flushDue.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (Submission u : group) {
+                u.done.complete(null);
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Op> batch;
+            int batchUnits;
+            lock.lock();
+            try {
+                while (!flushReady()) {
+                    if (!running && pendingUnits == 0 && queue.isEmpty() && !writing) {
+                        return;
+                    }
+                    long wait = pendingUnits == 0 ? flushIntervalNanos : flushIntervalNanos - (System.nanoTime() - pendingSince);
+                    try {
+                        flushDue.awaitNanos(Math.max(wait, 1));
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                }
+                batch = pending;
+                batchUnits = pendingUnits;
+                pending = new ArrayList<>();
+                pendingUnits = 0;
+                inFlightSince = pendingSince;
+                pendingSince = 0;
+                rollRequested = true;
+                queued.signal();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Put the batch back in front; its segments stay on disk until a write succeeds
+                lock.lock();
+                try {
+                    batch.addAll(pending);
+                    pending = batch;
+                    pendingUnits += batchUnits;
+                    pendingSince = inFlightSince;
+                    inFlightSince = 0;
+                    if (!running) {
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    Thread.sleep(RETRY_PAUSE_MILLIS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                continue;
+            }
+            List<Path> covered = new ArrayList<>();
+            lock.lock();
+            try {
+                forget(batch);
+                flushed += batchUnits;
+                inFlightSince = 0;
+                for (Iterator<ClosedSegment> it = closedSegments.iterator(); it.hasNext(); ) {
+                    ClosedSegment segment = it.next();
+                    if (segment.lastUnit <= flushed) {
+                        covered.add(segment.path);
+                        it.remove();
+                    }
+                }
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            SegmentJournal.delete(covered);
+        }
+    }
+
+    /** Drops a written batch from the per-game overlay; each game's ops in it are the oldest it holds. */
+    private void forget(List<Op> batch) {
+        Map<UUID, Integer> written = new HashMap<>();
+        for (Op op : batch) {
+            written.merge(op.gameId(), 1, Integer::sum);
+        }
+        written.forEach((id, n) -> {
+            List<Op> ops = unflushedByGame.get(id);
+            if (ops.size() == n) {
+                unflushedByGame.remove(id);
+            } else {
+                ops.subList(0, n).clear();
+            }
+        });
+    }
+
+    private boolean flushReady() {
+        return pendingUnits > 0 && (pending.size() >= batchSize
+                || System.nanoTime() - pendingSince >= flushIntervalNanos
+                || !running);
+    }
+
+    /** One transaction of three JDBC batches: move rows, archived games' row deletes, then the latest state per game. */
+    private void write(List<Op> ops) {
+        List<Object[]> merges = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Map<UUID, GameState> states = new LinkedHashMap<>();
+        for (Op op : ops) {
+            if (op instanceof MoveRow m) {
+                merges.add(m.params());
+            } else if (op instanceof DeleteRows d) {
+                deletes.add(new Object[]{bytes(d.gameId())});
+            } else if (op instanceof GameState g) {
+                states.put(g.id(), g);
+            }
+        }
+        List<Object[]> updates = new ArrayList<>(states.size());
+        for (GameState g : states.values()) {
+            updates.add(g.params());
+        }
+        transactions.executeWithoutResult(status -> {
+            if (!merges.isEmpty()) jdbc.batchUpdate(MERGE_MOVE, merges);
+            if (!deletes.isEmpty()) jdbc.batchUpdate(DELETE_MOVES, deletes);
+            if (!updates.isEmpty()) jdbc.batchUpdate(UPDATE_GAME, updates);
+        });
+    }
+
+    private double unflushed() {
+        lock.lock();
+        try {
+            return accepted - flushed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double lagSeconds() {
+        long oldest = inFlightSince != 0 ? inFlightSince : pendingSince;
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+    }
+
+    private sealed interface Op permits GameState, MoveRow, DeleteRows {
+        UUID gameId();
+    }
+
+    private record GameState(UUID id, String fen, Color turn, GameStatus status, String blackPlayerId, int plyCount,
+                             byte[] moveData, String moveHistory, byte[] positionKeys, Instant updatedAt,
+                             long version) implements Op {
+        static GameState of(Game g) {
+            return new GameState(g.getId(), g.getCurrentFEN(), g.getTurn(), g.getStatus(), g.getBlackPlayerId(),
+                    g.getPlyCount(), g.getMoveData(), g.getMoveHistory(), g.getPositionKeys(), g.getUpdatedAt(), g.getVersion());
+        }
+
+        @Override
+        public UUID gameId() {
+            return id;
+        }
+
+        /** The game as stored, with this state written over it (a new, detached instance). */
+        Game applyTo(Game stored) {
+            Game g = Game.restore(id, stored.getCreatedAt(), updatedAt, version);
+            g.setWhitePlayerId(stored.getWhitePlayerId());
+            g.setBlackPlayerId(blackPlayerId);
+            g.setCurrentFEN(fen);
+            g.setTurn(turn);
+            g.setStatus(status);
+            g.setPlyCount(plyCount);
+            g.setMoveData(moveData);
+            g.setMoveHistory(moveHistory);
+            g.setPositionKeys(positionKeys);
+            return g;
+        }
+
+        Object[] params() {
+            return new Object[]{fen, turn.name(), status.name(), blackPlayerId, plyCount, moveData, moveHistory,
+                    positionKeys, utc(updatedAt), version, bytes(id)};
+        }
+    }
+
+    private record MoveRow(GameMove move) implements Op {
+        @Override
+        public UUID gameId() {
+            return move.getGameId();
+        }
+
+        Object[] params() {
+            return new Object[]{bytes(move.getGameId()), move.getPly(), move.getFromSquare(), move.getToSquare(),
+                    move.getPromotion() == null ? null : move.getPromotion().name(), move.getSan(), move.getPositionKey(),
+                    utc(move.getPlayedAt())};
+        }
+    }
+
+    private record DeleteRows(UUID gameId) implements Op {
+    }
+
+    /** A unit waiting for its journal record to be durable. */
+    private record Submission(List<Op> ops, byte[] record, CompletableFuture<Void> done) {
+    }
+
+    /** A journal segment holding units up to the lastUnit-th journaled one. */
+    private record ClosedSegment(Path path, long lastUnit) {
+    }
+
+    private static byte[] encode(List<Op> ops) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(ops.size());
+            for (Op op : ops) {
+                if (op instanceof GameState g) {
+                    out.writeByte(GAME_STATE);
+                    writeUuid(out, g.id());
+                    writeText(out, g.fen());
+                    writeText(out, g.turn().name());
+                    writeText(out, g.status().name());
+                    writeText(out, g.blackPlayerId());
+                    out.writeInt(g.plyCount());
+                    writeBlob(out, g.moveData());
+                    writeText(out, g.moveHistory());
+                    writeBlob(out, g.positionKeys());
+                    writeInstant(out, g.updatedAt());
+                    out.writeLong(g.version());
+                } else if (op instanceof MoveRow r) {
+                    out.writeByte(MOVE_ROW);
+                    writeMove(out, r.move());
+                } else if (op instanceof DeleteRows d) {
+                    out.writeByte(DELETE_ROWS);
+                    writeUuid(out, d.gameId());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Op> decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        int n = in.getInt();
+        List<Op> ops = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            byte type = in.get();
+            switch (type) {
+                case GAME_STATE -> ops.add(new GameState(readUuid(in), readText(in), Color.valueOf(readText(in)),
+                        GameStatus.valueOf(readText(in)), readText(in), in.getInt(), readBlob(in), readText(in),
+                        readBlob(in), readInstant(in), in.getLong()));
+                case MOVE_ROW -> ops.add(new MoveRow(readMove(in)));
+                case DELETE_ROWS -> ops.add(new DeleteRows(readUuid(in)));
+                default -> throw new IllegalStateException("Unknown journal entry type " + type);
+            }
+        }
+        return ops;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.chessgamebackend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Single-writer execution: each game with pending commands is owned by an actor, a mailbox drained by
+ * one task at a time on a shared scheduler, so a game's commands run in order without locks.
+ * An actor exists only while it has pending commands; it is created by the first submission and
+ * dropped when its mailbox drains, so idle games cost nothing. A busy actor yields the scheduler thread
+ * after {@link #MAX_BATCH} commands so one game cannot starve the others.
+ * A command holds its scheduler thread while it persists, so the pool size bounds how many games can be
+ * written at once and how many units can share a journal group commit; without chess.execution.actor-threads
+ * it is sized for the persistence mode (see {@link #defaultThreads}).
+ * Active actors are published as the "chess.actors.active" gauge.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.execution.mode", havingValue = "actor")
+public class ActorGameExecutor implements GameExecutor {
+
+    static final int MAX_BATCH = 64;
+    /** Threads per CPU when commands mostly wait for a journal fsync rather than compute. */
+    static final int FSYNC_THREADS_PER_CPU = 8;
+
+    // Pending counts are only changed inside compute(), which serializes them per game
+    private final Map<UUID, Actor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService scheduler;
+
+    public ActorGameExecutor(MeterRegistry registry,
+                             @Value("${chess.execution.actor-threads:0}") int threads,
+                             @Value("${chess.persistence.mode:sync}") String persistenceMode,
+                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connections) {
+        int n = threads > 0 ? threads : defaultThreads(persistenceMode, Runtime.getRuntime().availableProcessors(), connections);
+        AtomicInteger count = new AtomicInteger();
+        this.scheduler = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "game-actor-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("chess.actors.active", actors, Map::size)
+                .description("Games with commands queued or running")
+                .register(registry);
+    }
+
+    /**
+     * Database modes block on a connection for the whole unit, so threads beyond the connection pool would only
+     * queue for one; the journal modes wait on group commits, which take more units the more threads wait on them.
+     */
+    static int defaultThreads(String persistenceMode, int cpus, int connections) {
+        return switch (persistenceMode) {
+            case "journal", "write-behind" -> cpus * FSYNC_THREADS_PER_CPU;
+            default -> Math.max(cpus, connections);
+        };
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(UUID gameId, Supplier<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(command.get());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        };
+        actors.compute(gameId, (id, actor) -> {
+            if (actor == null) {
+                actor = new Actor(id);
+            }
+            actor.mailbox.add(task);
+            if (++actor.pending == 1) {
+                scheduler.execute(actor);
+            }
+            return actor;
+        });
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private final class Actor implements Runnable {
+        final UUID id;
+        final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        int pending;
+
+        Actor(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH; i++) {
+                mailbox.poll().run();
+                if (!completed()) {
+                    return;
+                }
+            }
+            scheduler.execute(this);
+        }
+
+        /** Counts one command as done; returns whether more are pending, dropping the actor if not. */
+        private boolean completed() {
+            boolean[] more = new boolean[1];
+            actors.computeIfPresent(id, (k, actor) -> {
+                more[0] = --actor.pending > 0;
+                return more[0] ? actor : null;
+            });
+            return more[0];
+        }
+    }
+}
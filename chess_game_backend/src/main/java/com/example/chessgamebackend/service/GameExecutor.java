@@ -0,0 +1,41 @@
+package com.example.chessgamebackend.service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Runs commands against one game at a time: commands for the same game never overlap and run in
+ * submission order, while commands for different games may run in parallel.
+ * The implementation is chosen with chess.execution.mode: "locks" (default, {@link LockingGameExecutor})
+ * or "actor" ({@link ActorGameExecutor}).
+ */
+public interface GameExecutor {
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param gameId game the command belongs to
+     * @param command command to run
+     * @return completion of the command, failed with whatever it threw
+     */
+    <T> CompletableFuture<T> submit(UUID gameId, Supplier<T> command);
+
+    /**
+     * PUBLIC_INTERFACE
+     * Submits a command and waits for it, rethrowing its exception unchanged.
+     * @param gameId game the command belongs to
+     * @param command command to run
+     * @return the command's result
+     */
+    default <T> T execute(UUID gameId, Supplier<T> command) {
+        try {
+            return submit(gameId, command).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.chessgamebackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PUBLIC_INTERFACE
+ * Striped per-game locks: a fixed array of locks indexed by a hash of the game id.
+ * Writers to one game are serialized while unrelated games almost always map to different
+ * stripes and proceed in parallel. Unlike locking the cached entry, a stripe outlives cache
+ * eviction, so two requests can never hold "the" lock of the same game through different entries.
+ */
+@Component
+public class GameLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public GameLocks(@Value("${chess.concurrency.lock-stripes:1024}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("chess.concurrency.lock-stripes must be positive");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1; // next power of two
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param id game id
+     * @return the lock guarding the game's state; always the same instance for the same id
+     */
+    public Lock forGame(UUID id) {
+        int h = id.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -5,32 +5,65 @@ import com.example.chessgamebackend.engine.ChessEngine;
 import com.example.chessgamebackend.exception.GameNotFoundException;
 import com.example.chessgamebackend.exception.InvalidMoveException;
 import com.example.chessgamebackend.exception.NotYourTurnException;
-import com.example.chessgamebackend.repository.GameRepository;
+import com.example.chessgamebackend.repository.GameStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * PUBLIC_INTERFACE
  * Service implementing core chess use-cases.
+ *
+ * Every command on a game runs through the {@link GameExecutor} as one {@link GameStore} unit that
+ * completes before the next command for that game starts, so moves on one game are applied strictly
+ * one after another against the latest position while other games proceed in parallel. The version
+ * check in {@link GameStore#update} catches writers outside this process; such a conflict reloads
+ * the game and retries the command. Games handed out of a command are the committed copy
+ * ({@link LiveGameCache.LiveGame#committed()}), never the cached game that the next command changes.
  */
 @Service
-@Transactional
 public class GameService {
 
-    private final GameRepository repository;
+    private final GameStore store;
+    private final LegalMoveCache legalMoveCache;
+    private final LiveGameCache liveGames;
+    private final GameExecutor executor;
+    private final GameUpdatePublisher updates;
+    private final GameVersionIndex versions;
+    private final int maxAttempts;
     private final ChessEngine engine = new ChessEngine();
 
-    public GameService(GameRepository repository) {
-        this.repository = repository;
+    public GameService(GameStore store, LegalMoveCache legalMoveCache,
+                       LiveGameCache liveGames, GameExecutor executor, GameUpdatePublisher updates,
+                       GameVersionIndex versions,
+                       @Value("${chess.concurrency.max-attempts:3}") int maxAttempts) {
+        this.store = store;
+        this.legalMoveCache = legalMoveCache;
+        this.liveGames = liveGames;
+        this.executor = executor;
+        this.updates = updates;
+        this.versions = versions;
+        this.maxAttempts = maxAttempts;
     }
 
     /**
      * PUBLIC_INTERFACE
      * Creates a new game with the given white and optional black player IDs.
      */
+    @Transactional
     public Game createGame(String whitePlayer, String blackPlayer) {
         Game g = new Game();
         g.setCurrentFEN(engine.startingFEN());
@@ -38,8 +71,9 @@ public class GameService {
         g.setTurn(Color.WHITE);
         g.setWhitePlayerId(whitePlayer);
         g.setBlackPlayerId(blackPlayer);
-        g.setMoveHistory("[]");
-        return repository.save(g);
+        g.recordPosition(engine.positionKey(g.getCurrentFEN()), true);
+        Game saved = store.create(g);
+        return liveGames.put(saved).committed();
     }
 
     /**
@@ -47,62 +81,250 @@ public class GameService {
      * Allows a player to join as black if slot empty.
      */
     public Game joinGame(UUID id, String playerId) {
-        Game g = getGame(id);
-        if (g.getBlackPlayerId() == null || g.getBlackPlayerId().isBlank()) {
-            g.setBlackPlayerId(playerId);
-            return repository.save(g);
-        }
-        return g;
+        return withGame(id, live -> {
+            Game g = live.getGame();
+            if (g.getBlackPlayerId() == null || g.getBlackPlayerId().isBlank()) {
+                liveGames.invalidateOnRollback(id);
+                g.setBlackPlayerId(playerId);
+                save(g);
+                updates.publishAfterCommit(GameUpdate.joined(g));
+            }
+            return live.stage();
+        });
     }
 
     /**
      * PUBLIC_INTERFACE
-     * Retrieves a game by id.
+     * Retrieves a game by id: its last committed state, read without waiting for commands on the game.
+     * No transaction: a cached game is read from memory, and a miss loads it through the store in its own.
      */
-    @Transactional(readOnly = true)
     public Game getGame(UUID id) {
-        Optional<Game> opt = repository.findById(id);
-        return opt.orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
+        Game g = live(id).committed();
+        versions.seen(id, g.getVersion());
+        return g;
     }
 
     /**
      * PUBLIC_INTERFACE
-     * Applies a move for the given player.
+     * The game's latest committed version if it is known without loading the game.
+     * @param id game id
+     * @return version, or -1 if unknown (the game may still exist)
      */
-    public Game makeMove(UUID id, String playerId, Move move) {
-        Game g = getGame(id);
-        if (g.getStatus() != GameStatus.ONGOING) {
-            throw new InvalidMoveException("Game is not ongoing.");
+    public long knownVersion(UUID id) {
+        return versions.current(id);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Waits without blocking for a version of the game newer than the given one.
+     * @param id game id
+     * @param sinceVersion version the caller already has
+     * @param onNewer called once, with the game's committed state, as soon as a newer version is committed;
+     *                usually on the writer's thread, so it should only hand the game over
+     * @return handle to stop waiting
+     */
+    public Runnable awaitNewerGame(UUID id, long sinceVersion, Consumer<Game> onNewer) {
+        // The writer published its committed copy before waking waiters, and its entry was just used, so this is a cache hit
+        return versions.awaitNewer(id, sinceVersion, version -> onNewer.accept(live(id).committed()));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Legal moves for the side to move in the game's current position, grouped by from-square.
+     */
+    public Map<String, List<String>> legalMoves(UUID id) {
+        // Generation plays moves on the board and takes them back, so it runs as a command on the game
+        return withGame(id, live -> legalMoveCache.get(live.getBoard()));
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * One page of a game's moves in ply order. Archived moves are replayed from the initial
+     * position to recover their SAN and position keys; they carry no timestamp.
+     * @param id game id
+     * @param page zero-based page index
+     * @param size moves per page
+     */
+    public Page<GameMove> moveHistory(UUID id, int page, int size) {
+        // As a command on the game, since finishing a game moves its rows into the archive
+        return withGame(id, live -> {
+            Game g = live.getGame();
+            convertLegacyHistory(g);
+            return historyPage(id, g.getMoveData(), g.getPlyCount(), page, size);
+        });
+    }
+
+    private Page<GameMove> historyPage(UUID id, byte[] archived, int plyCount, int page, int size) {
+        long first = (long) page * size + 1;
+        int last = (int) Math.min(plyCount, first + size - 1);
+        List<GameMove> moves = first <= last ? moveRange(id, archived, (int) first, last) : List.of();
+        return new PageImpl<>(moves, PageRequest.of(page, size), plyCount);
+    }
+
+    /** Plies first..last (first <= last): archived ones replayed, the rest read from the store. */
+    private List<GameMove> moveRange(UUID id, byte[] archived, int first, int last) {
+        int archivedCount = archived == null ? 0 : MoveHistoryCodec.count(archived);
+        List<GameMove> moves = new ArrayList<>();
+        if (first <= Math.min(last, archivedCount)) {
+            moves.addAll(replay(id, MoveHistoryCodec.decode(archived), first, Math.min(last, archivedCount)));
         }
-        // Turn enforcement
-        boolean isWhite = playerId != null && playerId.equals(g.getWhitePlayerId());
-        boolean isBlack = playerId != null && playerId.equals(g.getBlackPlayerId());
-        if (g.getTurn() == Color.WHITE && !isWhite) throw new NotYourTurnException("It's White's turn.");
-        if (g.getTurn() == Color.BLACK && !isBlack) throw new NotYourTurnException("It's Black's turn.");
+        if (last > archivedCount) {
+            moves.addAll(store.moves(id, Math.max(first, archivedCount + 1), last));
+        }
+        return moves;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Subscribes to a game's updates, starting with the moves played after the given ply.
+     * If the game is already over the backlog ends with its final status and the subscription then ends.
+     * @param id game id
+     * @param afterPly last ply the subscriber has seen; null to receive only updates from now on
+     * @param subscriber receiver of the updates
+     * @return the subscription, to cancel when the client goes away
+     */
+    public GameUpdatePublisher.Subscription subscribe(UUID id, Integer afterPly, GameUpdatePublisher.Subscriber subscriber) {
+        // As a command on the game, so no move can fall between the backlog and the live updates
+        return withGame(id, live -> {
+            Game g = live.getGame();
+            convertLegacyHistory(g);
+            int from = afterPly == null ? g.getPlyCount() : Math.max(0, Math.min(afterPly, g.getPlyCount()));
+            List<GameUpdate> backlog = new ArrayList<>();
+            if (from < g.getPlyCount()) {
+                for (GameMove m : moveRange(id, g.getMoveData(), from + 1, g.getPlyCount())) {
+                    backlog.add(GameUpdate.move(m, GameStatus.ONGOING, m.getPly() == g.getPlyCount() ? g.getCurrentFEN() : null));
+                }
+            }
+            if (g.getStatus() != GameStatus.ONGOING) {
+                // A game ended by a move carries its status on that move; otherwise it ended on its own
+                if (!backlog.isEmpty() && g.getStatus() != GameStatus.RESIGNED) {
+                    backlog.set(backlog.size() - 1,
+                            GameUpdate.move(backlog.get(backlog.size() - 1).move(), g.getStatus(), g.getCurrentFEN()));
+                } else {
+                    backlog.add(GameUpdate.finished(g));
+                }
+            }
+            return updates.subscribe(id, backlog, subscriber);
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * The game's full move history in the compact {@link MoveHistoryCodec} format.
+     * @param id game id
+     */
+    public byte[] encodedMoveHistory(UUID id) {
+        return withGame(id, live -> {
+            Game g = live.getGame();
+            convertLegacyHistory(g);
+            byte[] archived = g.getMoveData();
+            if (archived != null && MoveHistoryCodec.count(archived) == g.getPlyCount()) {
+                return archived;
+            }
+            return MoveHistoryCodec.encode(allMoves(g));
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Applies a move for the given player.
+     * @param move packed move (see {@link PackedMove})
+     * @return the game after the move and the move as played
+     */
+    public PlayedMove makeMove(UUID id, String playerId, int move) {
+        return withGame(id, live -> {
+            int played = play(id, live, playerId, move).move();
+            return new PlayedMove(live.stage(), played);
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Checks or plays several moves of one game as a single command, so they share one store unit and
+     * the game's parsed position. With apply, each move is played in turn as by {@link #makeMove} and a
+     * rejected move is skipped; otherwise each move is checked against the current position (whose turn it
+     * is, if a player is given) and the game is left unchanged.
+     * @param id game id
+     * @param attempts moves in request order
+     * @param apply whether legal moves are played
+     * @return one outcome per attempt, in the same order
+     */
+    public List<MoveCheck> checkMoves(UUID id, List<MoveCheck.Attempt> attempts, boolean apply) {
+        return withGame(id, live -> {
+            List<MoveCheck> checks = new ArrayList<>(attempts.size());
+            for (MoveCheck.Attempt a : attempts) {
+                try {
+                    if (apply) {
+                        String san = play(id, live, a.playerId(), a.move()).san();
+                        Game g = live.getGame();
+                        checks.add(MoveCheck.legal(san, g.getStatus(), g.getCurrentFEN()));
+                    } else {
+                        checkPlayable(live.getGame(), a.playerId(), a.playerId() != null);
+                        ChessEngine.Result res = engine.applyMove(live.getBoard().copy(), a.move());
+                        checks.add(MoveCheck.legal(res.san(), res.status(), res.fen()));
+                    }
+                } catch (InvalidMoveException | NotYourTurnException | IllegalArgumentException ex) {
+                    checks.add(MoveCheck.rejected(ex.getMessage()));
+                }
+            }
+            return checks;
+        });
+    }
+
+    /** Plays a move on the live game within the current command; returns the engine's result for it. */
+    private ChessEngine.Result play(UUID id, LiveGameCache.LiveGame live, String playerId, int move) {
+        Game g = live.getGame();
+        checkPlayable(g, playerId, true);
 
         ChessEngine.Result res;
         try {
-            res = engine.applyMove(g.getCurrentFEN(), move);
+            res = engine.applyMove(live.getBoard(), move);
         } catch (IllegalArgumentException ex) {
             throw new InvalidMoveException(ex.getMessage());
         }
+        liveGames.invalidateOnRollback(id); // the cached board already holds the move
 
         g.setCurrentFEN(res.fen());
         g.setTurn(res.nextTurn());
         g.setStatus(res.status());
-        // append to history (very basic)
-        String entry = String.format("{\"from\":\"%s\",\"to\":\"%s\",\"promotion\":\"%s\"}", move.getFrom(), move.getTo(), move.getPromotion());
-        String hist = g.getMoveHistory();
-        if (hist == null || hist.isBlank()) hist = "[]";
-        if (hist.endsWith("]")) {
-            if (hist.length() == 2) {
-                hist = "[" + entry + "]";
-            } else {
-                hist = hist.substring(0, hist.length() - 1) + "," + entry + "]";
-            }
+        int occurrences = g.recordPosition(res.positionKey(), res.irreversible());
+        if (res.status() == GameStatus.ONGOING && occurrences >= 3) {
+            g.setStatus(GameStatus.DRAW_BY_REPETITION);
+        }
+        convertLegacyHistory(g);
+        // One insert per move; the game row only carries the ply count. The row records the move as played.
+        int ply = g.getPlyCount() + 1;
+        g.setPlyCount(ply);
+        int played = res.move();
+        GameMove row = new GameMove(id, ply, Board.squareName(PackedMove.from(played)),
+                Board.squareName(PackedMove.to(played)), PackedMove.promotion(played), res.san(), res.positionKey(),
+                Instant.now());
+        store.insertMove(row, res.irreversible());
+        if (g.getStatus() == GameStatus.ONGOING) {
+            g.preUpdate();
+            store.updatePosition(g);
+            versions.writtenAfterCommit(id, g.getVersion());
+        } else {
+            archiveIfFinished(g);
+            save(g);
         }
-        g.setMoveHistory(hist);
-        return repository.save(g);
+        updates.publishAfterCommit(GameUpdate.move(row, g.getStatus(), g.getCurrentFEN()));
+        return res;
+    }
+
+    /** The game must be ongoing and, with checkTurn, it must be the given player's turn. */
+    private static void checkPlayable(Game g, String playerId, boolean checkTurn) {
+        if (g.getStatus() != GameStatus.ONGOING) {
+            throw new InvalidMoveException("Game is not ongoing.");
+        }
+        if (!checkTurn) {
+            return;
+        }
+        // Turn enforcement
+        boolean isWhite = playerId != null && playerId.equals(g.getWhitePlayerId());
+        boolean isBlack = playerId != null && playerId.equals(g.getBlackPlayerId());
+        if (g.getTurn() == Color.WHITE && !isWhite) throw new NotYourTurnException("It's White's turn.");
+        if (g.getTurn() == Color.BLACK && !isBlack) throw new NotYourTurnException("It's Black's turn.");
     }
 
     /**
@@ -110,11 +332,113 @@ public class GameService {
      * Resigns the game by the given player.
      */
     public Game resign(UUID id, String playerId) {
-        Game g = getGame(id);
-        if (g.getStatus() != GameStatus.ONGOING) {
-            return g;
+        return withGame(id, live -> {
+            Game g = live.getGame();
+            if (g.getStatus() != GameStatus.ONGOING) {
+                return live.stage();
+            }
+            liveGames.invalidateOnRollback(id);
+            g.setStatus(GameStatus.RESIGNED);
+            convertLegacyHistory(g);
+            archiveIfFinished(g);
+            save(g);
+            updates.publishAfterCommit(GameUpdate.finished(g));
+            return live.stage();
+        });
+    }
+
+    /**
+     * Runs a command against a game through the executor, as a store unit that completes before the
+     * game's next command. A conflict with a writer outside this process (stale version, or a move row
+     * already taken) drops the cached entry so the next attempt reloads the game; after maxAttempts it is reported.
+     * A unit that changed the game publishes its new committed copy as it commits.
+     */
+    private <T> T withGame(UUID id, Function<LiveGameCache.LiveGame, T> command) {
+        return executor.execute(id, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return store.inUnit(() -> {
+                        LiveGameCache.LiveGame live = live(id);
+                        liveGames.publishOnCommit(live);
+                        return command.apply(live);
+                    });
+                } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                    liveGames.invalidate(id);
+                    if (attempt >= maxAttempts) {
+                        throw new OptimisticLockingFailureException("Game " + id + " is being modified concurrently", ex);
+                    }
+                }
+            }
+        });
+    }
+
+    private LiveGameCache.LiveGame live(UUID id) {
+        LiveGameCache.LiveGame live = liveGames.get(id);
+        if (live == null) {
+            throw new GameNotFoundException("Game not found: " + id);
+        }
+        return live;
+    }
+
+    /** All moves in ply order: the archived prefix followed by the rows in game_moves. */
+    private int[] allMoves(Game g) {
+        int[] moves = new int[g.getPlyCount()];
+        int n = 0;
+        if (g.getMoveData() != null) {
+            int[] archived = MoveHistoryCodec.decode(g.getMoveData());
+            System.arraycopy(archived, 0, moves, 0, archived.length);
+            n = archived.length;
+        }
+        if (n < moves.length) {
+            for (GameMove m : store.moves(g.getId(), n + 1, moves.length)) {
+                moves[n++] = PackedMove.of(Board.squareIndex(m.getFromSquare()), Board.squareIndex(m.getToSquare()), m.getPromotion());
+            }
         }
-        g.setStatus(GameStatus.RESIGNED);
-        return repository.save(g);
+        return moves;
+    }
+
+    /** Replays moves from the initial position and returns plies first..last as (unsaved) rows. */
+    private List<GameMove> replay(UUID id, int[] moves, int first, int last) {
+        Board board = new Board();
+        board.initStartingPosition();
+        List<GameMove> result = new ArrayList<>(last - first + 1);
+        for (int ply = 1; ply <= last; ply++) {
+            ChessEngine.Result res = engine.applyMove(board, moves[ply - 1]);
+            if (ply >= first) {
+                int move = res.move(); // archives written before moves were recorded as played may lack the queen
+                result.add(new GameMove(id, ply, Board.squareName(PackedMove.from(move)), Board.squareName(PackedMove.to(move)),
+                        PackedMove.promotion(move), res.san(), res.positionKey(), null));
+            }
+        }
+        return result;
+    }
+
+    /** Moves a finished game's rows into the compact archive on the game row. */
+    private void archiveIfFinished(Game g) {
+        if (g.getStatus() == GameStatus.ONGOING) {
+            return;
+        }
+        g.setMoveData(MoveHistoryCodec.encode(allMoves(g)));
+        store.deleteMoves(g.getId());
+    }
+
+    /** Converts a legacy JSON history to the compact archive the first time the game is read or written. */
+    private void convertLegacyHistory(Game g) {
+        if (g.getMoveHistory() == null) {
+            return;
+        }
+        int[] moves = MoveHistoryCodec.fromLegacyJson(g.getMoveHistory());
+        liveGames.invalidateOnRollback(g.getId());
+        g.setMoveData(MoveHistoryCodec.encode(moves));
+        g.setMoveHistory(null);
+        g.setPlyCount(moves.length);
+        save(g);
+    }
+
+    /** Writes the cached game through to the store; the cached copy was changed first. */
+    private void save(Game g) {
+        g.preUpdate();
+        store.update(g);
+        versions.writtenAfterCommit(g.getId(), g.getVersion());
     }
 }
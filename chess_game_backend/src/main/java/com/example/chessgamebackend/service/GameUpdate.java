@@ -0,0 +1,51 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * One committed change to a game as pushed to its subscribers: a move, a player joining, or the game
+ * ending without a move (resignation). Subscribers are sent only what changed; the position is kept so
+ * that a subscriber that fell behind can be sent the latest state instead.
+ * @param ply plies played once the change applied; a move's own ply
+ * @param move the move played (MOVE only)
+ * @param status game status after the change
+ * @param turn side to move after the change
+ * @param playerId the player who joined (JOINED only)
+ * @param fen position after the change (null for backlog moves before the current position)
+ */
+public record GameUpdate(Type type, UUID gameId, int ply, GameMove move, GameStatus status, Color turn, String playerId,
+                         String fen) {
+
+    /** Kind of change. */
+    public enum Type { MOVE, JOINED, FINISHED }
+
+    static GameUpdate move(GameMove move, GameStatus status, String fen) {
+        // White moves on odd plies
+        Color turn = move.getPly() % 2 == 1 ? Color.BLACK : Color.WHITE;
+        return new GameUpdate(Type.MOVE, move.getGameId(), move.getPly(), move, status, turn, null, fen);
+    }
+
+    static GameUpdate joined(Game g) {
+        return new GameUpdate(Type.JOINED, g.getId(), g.getPlyCount(), null, g.getStatus(), g.getTurn(),
+                g.getBlackPlayerId(), g.getCurrentFEN());
+    }
+
+    static GameUpdate finished(Game g) {
+        return new GameUpdate(Type.FINISHED, g.getId(), g.getPlyCount(), null, g.getStatus(), g.getTurn(), null,
+                g.getCurrentFEN());
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @return whether the game is over, so no further update can follow
+     */
+    public boolean last() {
+        return status != GameStatus.ONGOING;
+    }
+}
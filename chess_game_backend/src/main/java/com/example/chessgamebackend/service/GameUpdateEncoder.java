@@ -0,0 +1,23 @@
+package com.example.chessgamebackend.service;
+
+/**
+ * PUBLIC_INTERFACE
+ * Wire format of pushed game updates. {@link GameUpdatePublisher} encodes each update once and sends
+ * the same bytes to every subscriber of the game.
+ */
+public interface GameUpdateEncoder {
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param update committed change
+     * @return the change as sent to subscribers that keep up
+     */
+    byte[] encode(GameUpdate update);
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param update latest change, carrying the game's position
+     * @return the game's state after the change, sent in place of the updates a lagging subscriber missed
+     */
+    byte[] encodeState(GameUpdate update);
+}
@@ -0,0 +1,293 @@
+package com.example.chessgamebackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PUBLIC_INTERFACE
+ * Broadcast hub pushing committed {@link GameUpdate}s to a game's subscribers (players and spectators),
+ * so clients need not poll for new moves.
+ *
+ * Updates are handed over once the store unit has committed, from within the game's {@link GameExecutor}
+ * command, so each subscriber sees a game's updates exactly once and in order, and a subscription taken as a
+ * command on the game continues seamlessly from the backlog it was given.
+ *
+ * Each update is encoded once by the {@link GameUpdateEncoder} and the same bytes are queued for every
+ * subscriber, so the cost of a popular game grows with its updates rather than with updates times subscribers.
+ * Delivery runs on a small shared pool, each subscriber draining its own bounded queue (with
+ * spring.threads.virtual.enabled on Java 21 or later, on a virtual thread per draining subscriber instead,
+ * so a client that is slow to read does not hold up the others). When a slow subscriber's queue is full its
+ * queued updates are dropped, and once it catches up it is sent the game's state after the newest update in
+ * their place (latest state wins), then updates as usual.
+ * Subscriptions end when the game finishes, when the client goes away, or when cancelled.
+ *
+ * Metrics: "chess.push.subscribers" (open subscriptions), "chess.push.fanout" (time from commit until an
+ * update is written to a subscriber) and "chess.push.coalesced" (queues replaced by the latest state).
+ */
+@Component
+public class GameUpdatePublisher {
+
+    /**
+     * PUBLIC_INTERFACE
+     * Receives a game's encoded updates, one at a time and in order. A failing send ends the subscription.
+     */
+    public interface Subscriber {
+        void send(byte[] frame) throws IOException;
+
+        /** Called after the game's last update was sent. */
+        void complete();
+    }
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final GameUpdateEncoder encoder;
+    private final int bufferSize;
+    private final AtomicInteger open = new AtomicInteger();
+    private final Executor pool;
+    private final Timer fanout;
+    private final Counter coalesced;
+
+    public GameUpdatePublisher(GameUpdateEncoder encoder,
+                               MeterRegistry registry,
+                               @Value("${chess.push.threads:4}") int threads,
+                               @Value("${chess.push.buffer-size:64}") int bufferSize,
+                               Environment environment) {
+        this.encoder = encoder;
+        this.bufferSize = bufferSize;
+        // Same test as Spring Boot's own virtual thread support: the property is ignored before Java 21
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.pool = new VirtualThreadTaskExecutor("game-push-");
+        } else {
+            AtomicInteger n = new AtomicInteger();
+            this.pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "game-push-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        Gauge.builder("chess.push.subscribers", open, AtomicInteger::get)
+                .description("Open game update subscriptions")
+                .register(registry);
+        this.fanout = Timer.builder("chess.push.fanout")
+                .description("Time from commit until an update is written to a subscriber")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.coalesced = Counter.builder("chess.push.coalesced")
+                .description("Subscriber queues that overflowed and were replaced by the latest state")
+                .register(registry);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Subscribes to a game once the current store unit commits. Must be called from a command on the game,
+     * which guarantees that the backlog and the later updates neither overlap nor leave a gap.
+     * @param gameId game id
+     * @param backlog updates the subscriber missed, sent first; the last one carries the current position
+     * @param subscriber receiver of the updates
+     * @return the subscription, to cancel when the client goes away
+     */
+    public Subscription subscribe(UUID gameId, List<GameUpdate> backlog, Subscriber subscriber) {
+        Subscription s = new Subscription(gameId, subscriber);
+        afterCommit(() -> s.start(backlog));
+        return s;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Sends an update to the game's subscribers once the current store unit commits; nothing is sent if it fails.
+     * Must be called from a command on the game, so updates are handed over in commit order.
+     * @param update committed change
+     */
+    public void publishAfterCommit(GameUpdate update) {
+        afterCommit(() -> publish(update));
+    }
+
+    private void publish(GameUpdate update) {
+        // A finished game gets no further updates, so its subscriptions end with this one
+        Set<Subscription> subscribers = update.last()
+                ? subscriptions.remove(update.gameId())
+                : subscriptions.get(update.gameId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Broadcast b = new Broadcast(update);
+        for (Subscription s : subscribers) {
+            s.offer(b);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool instanceof ExecutorService es) {
+            es.shutdownNow();
+        }
+    }
+
+    /** An update with its encodings, shared by all subscribers of the game. */
+    private final class Broadcast {
+        final GameUpdate update;
+        final byte[] frame;
+        final long committedAt = System.nanoTime();
+        private volatile byte[] state; // only lagging subscribers need it, so encoded on first use
+
+        Broadcast(GameUpdate update) {
+            this.update = update;
+            this.frame = encoder.encode(update);
+        }
+
+        byte[] state() {
+            byte[] s = state;
+            if (s == null) {
+                state = s = encoder.encodeState(update);
+            }
+            return s;
+        }
+    }
+
+    /** What to write next: an update, or the state after it in place of dropped ones. */
+    private record Pending(Broadcast broadcast, boolean asState) {
+        byte[] frame() {
+            return asState ? broadcast.state() : broadcast.frame;
+        }
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * One subscriber's registration on a game, with its pending updates.
+     */
+    public final class Subscription {
+        private final UUID gameId;
+        private final Subscriber subscriber;
+        // Guarded by this
+        private final ArrayDeque<Broadcast> queue = new ArrayDeque<>();
+        private Broadcast latest; // set once the queue overflowed: its state is sent next
+        private boolean scheduled;
+        private boolean active;
+        private boolean cancelled;
+
+        private Subscription(UUID gameId, Subscriber subscriber) {
+            this.gameId = gameId;
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * PUBLIC_INTERFACE
+         * Stops delivery and unregisters; updates still queued are dropped.
+         */
+        public synchronized void cancel() {
+            cancelled = true;
+            queue.clear();
+            latest = null;
+            subscriptions.computeIfPresent(gameId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            if (active) {
+                active = false;
+                open.decrementAndGet();
+            }
+        }
+
+        private synchronized void start(List<GameUpdate> backlog) {
+            if (cancelled) {
+                return;
+            }
+            active = true;
+            open.incrementAndGet();
+            boolean finished = !backlog.isEmpty() && backlog.get(backlog.size() - 1).last();
+            if (!finished) {
+                subscriptions.compute(gameId, (id, set) -> {
+                    Set<Subscription> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+                    subscribers.add(this);
+                    return subscribers;
+                });
+            }
+            for (GameUpdate u : backlog) {
+                offer(new Broadcast(u));
+            }
+        }
+
+        private synchronized void offer(Broadcast b) {
+            if (cancelled) {
+                return;
+            }
+            if (latest != null) {
+                latest = b;
+            } else if (queue.size() < bufferSize) {
+                queue.add(b);
+            } else {
+                queue.clear();
+                latest = b;
+                coalesced.increment();
+            }
+            if (!scheduled) {
+                scheduled = true;
+                pool.execute(this::drain);
+            }
+        }
+
+        private synchronized Pending take() {
+            Pending next = null;
+            if (!cancelled) {
+                if (latest != null) {
+                    next = new Pending(latest, true);
+                    latest = null;
+                } else if (!queue.isEmpty()) {
+                    next = new Pending(queue.poll(), false);
+                }
+            }
+            scheduled = next != null;
+            return next;
+        }
+
+        private void drain() {
+            try {
+                Pending p;
+                while ((p = take()) != null) {
+                    subscriber.send(p.frame());
+                    fanout.record(System.nanoTime() - p.broadcast().committedAt, TimeUnit.NANOSECONDS);
+                    if (p.broadcast().update.last()) {
+                        cancel();
+                        subscriber.complete();
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                cancel(); // the client went away
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.chessgamebackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * PUBLIC_INTERFACE
+ * In-memory index of the latest committed version of each recently used game, so conditional and
+ * long-poll reads of the game state can be answered without loading or serializing the game.
+ * Versions are recorded when a write commits and when a game is read; a game that is not indexed
+ * (never read since startup, or evicted) simply takes the full read path, which indexes it again.
+ * Like the live-game cache, this assumes that writes to a game go through this process.
+ */
+@Component
+public class GameVersionIndex {
+
+    private final Cache<UUID, Long> versions;
+    private final ConcurrentHashMap<UUID, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public GameVersionIndex(@Value("${chess.version-index.maximum-size:100000}") long maximumSize) {
+        this.versions = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * @param id game id
+     * @return the latest known committed version, or -1 if the game is not indexed
+     */
+    public long current(UUID id) {
+        Long v = versions.getIfPresent(id);
+        return v == null ? -1 : v;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Records a version seen by a read; an older version than the indexed one is ignored.
+     * @param id game id
+     * @param version committed version
+     */
+    public void seen(UUID id, long version) {
+        versions.asMap().merge(id, version, Math::max);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Records a written version once the current store unit commits, and wakes the game's waiters.
+     * @param id game id
+     * @param version version after the write
+     */
+    public void writtenAfterCommit(UUID id, long version) {
+        Runnable action = () -> {
+            seen(id, version);
+            Set<Waiter> woken = waiters.remove(id);
+            if (woken != null) {
+                for (Waiter w : woken) {
+                    w.fire(version);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Calls back once the game has a committed version newer than the given one: right away if the
+     * index already has one, otherwise on the next write. The callback runs at most once, on the
+     * writer's thread, so it should only hand the result over.
+     * @param id game id
+     * @param sinceVersion version the caller already has
+     * @param onNewer receives the newer version
+     * @return handle to stop waiting (on timeout or disconnect)
+     */
+    public Runnable awaitNewer(UUID id, long sinceVersion, LongConsumer onNewer) {
+        Waiter w = new Waiter(onNewer);
+        waiters.compute(id, (k, set) -> {
+            Set<Waiter> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(w);
+            return s;
+        });
+        // A write may have committed before the waiter was registered
+        long v = current(id);
+        if (v > sinceVersion) {
+            w.fire(v);
+        }
+        return () -> {
+            w.fired.set(true);
+            waiters.computeIfPresent(id, (k, set) -> {
+                set.remove(w);
+                return set.isEmpty() ? null : set;
+            });
+        };
+    }
+
+    private static final class Waiter {
+        final LongConsumer onNewer;
+        final AtomicBoolean fired = new AtomicBoolean();
+
+        Waiter(LongConsumer onNewer) {
+            this.onNewer = onNewer;
+        }
+
+        void fire(long version) {
+            if (fired.compareAndSet(false, true)) {
+                onNewer.accept(version);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.engine.MoveList;
+import com.example.chessgamebackend.engine.MoveValidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * PUBLIC_INTERFACE
+ * Bounded, concurrent cache of legal moves keyed by position Zobrist key.
+ * Positions (especially openings) are shared across many games, so one generation serves all of them.
+ * Eviction is Caffeine's W-TinyLFU; hit/miss/eviction counts are published as the "legalMoves"
+ * cache metrics (cache.gets, cache.evictions, ...) under /actuator/metrics.
+ */
+@Component
+public class LegalMoveCache {
+
+    private final Cache<Long, Map<String, List<String>>> cache;
+    private final MoveValidator validator = new MoveValidator();
+
+    public LegalMoveCache(MeterRegistry registry,
+                          @Value("${chess.legal-move-cache.maximum-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "legalMoves");
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Returns the legal moves of the side to move, grouped by from-square.
+     * @param board position (only read)
+     * @return unmodifiable map of from-square to sorted target squares
+     */
+    public Map<String, List<String>> get(Board board) {
+        return cache.get(board.getZobristKey(), key -> generate(board));
+    }
+
+    private Map<String, List<String>> generate(Board board) {
+        Map<String, SortedSet<String>> grouped = new TreeMap<>();
+        MoveList moves = new MoveList();
+        validator.generateLegalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            grouped.computeIfAbsent(Board.squareName(PackedMove.from(m)), k -> new TreeSet<>())
+                    .add(Board.squareName(PackedMove.to(m)));
+        }
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        grouped.forEach((from, targets) -> result.put(from, List.copyOf(targets)));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.repository.GameStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * PUBLIC_INTERFACE
+ * Bounded in-process cache of live games: the detached Game plus its parsed Board.
+ * Reads are served from memory and moves skip both the database load and the FEN parse.
+ * Entries expire after a period without access and are rehydrated from the {@link GameStore} on the next
+ * request. Writers change the cached entry from a {@link GameExecutor} command on the game and persist it
+ * through the store; a unit that fails drops the entry so the next read reloads it. Readers outside a
+ * command only see {@link LiveGame#committed()}, a copy replaced when a unit that changed the game commits.
+ * Hit/miss/eviction counts are published as the "liveGames" cache metrics.
+ */
+@Component
+public class LiveGameCache {
+
+    private final Cache<UUID, LiveGame> cache;
+    private final GameStore store;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LiveGameCache(GameStore store,
+                         MeterRegistry registry,
+                         @Value("${chess.live-game-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${chess.live-game-cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.store = store;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "liveGames");
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Returns the cached game, loading it from the store on a miss.
+     * @param id game id
+     * @return live game or null if no such game exists
+     */
+    public LiveGame get(UUID id) {
+        return cache.get(id, this::load);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Caches a game that was just persisted and flushed. The entity is detached from the persistence context.
+     * @param game saved game
+     * @return the cached entry
+     */
+    public LiveGame put(Game game) {
+        LiveGame live = toLive(game);
+        cache.put(game.getId(), live);
+        return live;
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Drops the cached entry if the current store unit fails, since it was changed ahead of the commit.
+     * @param id game id
+     */
+    public void invalidateOnRollback(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cache.invalidate(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Publishes the game as the current store unit leaves it once the unit commits. Registered when the unit
+     * starts, so the new snapshot is in place before the unit's other commit callbacks wake any reader.
+     * @param live game the unit runs against
+     */
+    public void publishOnCommit(LiveGame live) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                live.publish();
+            }
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Removes a game from the cache.
+     */
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    private LiveGame load(UUID id) {
+        return store.find(id).map(this::toLive).orElse(null);
+    }
+
+    private LiveGame toLive(Game game) {
+        // Detached so later changes are written only by explicit updates, not by dirty checking
+        entityManager.detach(game);
+        Board board = new Board();
+        board.loadFEN(game.getCurrentFEN());
+        return new LiveGame(game, board);
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * A cached game and its position. Both are mutable and only touched by {@link GameExecutor} commands on the
+     * game; other threads read the last committed copy of the game.
+     */
+    public static final class LiveGame {
+        private final Game game;
+        private final Board board;
+        private volatile Game committed;
+        private Game staged;
+
+        LiveGame(Game game, Board board) {
+            this.game = game;
+            this.board = board;
+            this.committed = game.copy();
+        }
+
+        public Game getGame() {
+            return game;
+        }
+
+        public Board getBoard() {
+            return board;
+        }
+
+        /**
+         * PUBLIC_INTERFACE
+         * @return the game as of its last committed change; never changed afterwards, so safe to read from any thread
+         */
+        public Game committed() {
+            return committed;
+        }
+
+        /**
+         * PUBLIC_INTERFACE
+         * The game as the current command left it, which {@link #committed()} returns once the command's unit
+         * commits. Only called from the command.
+         * @return copy of the game
+         */
+        public Game stage() {
+            Game last = staged != null ? staged : committed;
+            if (last.getVersion() != game.getVersion()) {
+                last = staged = game.copy();
+            }
+            return last;
+        }
+
+        void publish() {
+            committed = stage();
+            staged = null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.chessgamebackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * PUBLIC_INTERFACE
+ * Runs each command on the calling thread while holding the game's {@link GameLocks} stripe.
+ */
+@Component
+@ConditionalOnProperty(name = "chess.execution.mode", havingValue = "locks", matchIfMissing = true)
+public class LockingGameExecutor implements GameExecutor {
+
+    private final GameLocks locks;
+
+    public LockingGameExecutor(GameLocks locks) {
+        this.locks = locks;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(UUID gameId, Supplier<T> command) {
+        try {
+            return CompletableFuture.completedFuture(execute(gameId, command));
+        } catch (RuntimeException | Error ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @Override
+    public <T> T execute(UUID gameId, Supplier<T> command) {
+        Lock lock = locks.forGame(gameId);
+        lock.lock();
+        try {
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
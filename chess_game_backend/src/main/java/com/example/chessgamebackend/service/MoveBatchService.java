@@ -0,0 +1,148 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.engine.ChessEngine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * PUBLIC_INTERFACE
+ * Checks or plays many moves, across games and FEN positions, in one call for bots and analysis clients.
+ *
+ * Items are grouped by game (or by FEN), keeping request order within a group. Each game's group is one
+ * {@link GameService#checkMoves} command: one store unit and one parsed position for all its moves, and
+ * each FEN is parsed once for its group. Independent groups run in parallel on a pool of chess.batch.threads
+ * threads shared by all batches. Outcomes are handed out in request order as soon as they and every earlier
+ * one are known, so a client can consume the first results while later games are still running.
+ */
+@Service
+public class MoveBatchService {
+
+    /**
+     * PUBLIC_INTERFACE
+     * One move of a batch, on a game or on a position.
+     * @param gameId game to check or play the move on, or null for a FEN item
+     * @param fen position to check the move on (game id not set)
+     * @param playerId player making the move (game items; required to apply)
+     * @param move packed move (see {@link com.example.chessgamebackend.domain.PackedMove})
+     */
+    public record Item(UUID gameId, String fen, String playerId, int move) {}
+
+    private final GameService games;
+    private final ChessEngine engine = new ChessEngine();
+    private final ExecutorService pool;
+    private final int maxItems;
+
+    public MoveBatchService(GameService games,
+                            @Value("${chess.batch.threads:0}") int threads,
+                            @Value("${chess.batch.max-items:1000}") int maxItems) {
+        this.games = games;
+        this.maxItems = maxItems;
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "move-batch-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * PUBLIC_INTERFACE
+     * Runs a batch. With apply, legal moves on games are played (rejected ones skipped) and moves on a FEN
+     * are played one after another from it; otherwise every move is only checked against the current
+     * position of its game or its FEN.
+     * @param items moves in request order
+     * @param apply whether legal moves are played
+     * @param results receives each outcome with its item index, in index order and one at a time
+     * @return completion once every outcome was handed out, failed if handing one out failed
+     */
+    public CompletableFuture<Void> run(List<Item> items, boolean apply, ObjIntConsumer<MoveCheck> results) {
+        if (items.isEmpty() || items.size() > maxItems) {
+            throw new IllegalArgumentException("A batch takes 1 to " + maxItems + " items");
+        }
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            Object key = item.gameId() != null ? item.gameId() : item.fen();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+        InOrder out = new InOrder(items.size(), results);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups.values()) {
+            tasks.add(CompletableFuture.runAsync(() -> out.complete(group, check(items, group, apply)), pool));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private List<MoveCheck> check(List<Item> items, List<Integer> group, boolean apply) {
+        Item first = items.get(group.get(0));
+        try {
+            if (first.gameId() != null) {
+                List<MoveCheck.Attempt> attempts = new ArrayList<>(group.size());
+                for (int i : group) {
+                    attempts.add(new MoveCheck.Attempt(items.get(i).playerId(), items.get(i).move()));
+                }
+                return games.checkMoves(first.gameId(), attempts, apply);
+            }
+            return checkFen(first.fen(), items, group, apply);
+        } catch (RuntimeException ex) {
+            // The whole group failed, e.g. the game does not exist or kept changing underneath
+            return Collections.nCopies(group.size(), MoveCheck.rejected(ex.getMessage()));
+        }
+    }
+
+    private List<MoveCheck> checkFen(String fen, List<Item> items, List<Integer> group, boolean apply) {
+        Board board = new Board();
+        board.loadFEN(fen);
+        List<MoveCheck> checks = new ArrayList<>(group.size());
+        for (int i : group) {
+            try {
+                ChessEngine.Result res = engine.applyMove(apply ? board : board.copy(), items.get(i).move());
+                checks.add(MoveCheck.legal(res.san(), res.status(), res.fen()));
+            } catch (IllegalArgumentException ex) {
+                checks.add(MoveCheck.rejected(ex.getMessage()));
+            }
+        }
+        return checks;
+    }
+
+    /** Hands out outcomes in index order as the groups complete. */
+    private static final class InOrder {
+        private final MoveCheck[] done;
+        private final ObjIntConsumer<MoveCheck> results;
+        private int next;
+
+        InOrder(int size, ObjIntConsumer<MoveCheck> results) {
+            this.done = new MoveCheck[size];
+            this.results = results;
+        }
+
+        synchronized void complete(List<Integer> group, List<MoveCheck> checks) {
+            for (int k = 0; k < group.size(); k++) {
+                done[group.get(k)] = checks.get(k);
+            }
+            while (next < done.length && done[next] != null) {
+                results.accept(done[next], next);
+                done[next++] = null;
+            }
+        }
+    }
+}
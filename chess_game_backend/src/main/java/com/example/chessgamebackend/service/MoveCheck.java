@@ -0,0 +1,32 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.GameStatus;
+
+/**
+ * PUBLIC_INTERFACE
+ * Outcome of one move of a batch: legal (and, when applied, played) with the position after it, or
+ * rejected with the reason.
+ * @param legal whether the move is legal
+ * @param san standard algebraic notation (legal moves)
+ * @param status game status after the move (legal moves)
+ * @param fen position after the move (legal moves)
+ * @param error why the move was rejected
+ */
+public record MoveCheck(boolean legal, String san, GameStatus status, String fen, String error) {
+
+    /**
+     * PUBLIC_INTERFACE
+     * A move to check for a game.
+     * @param playerId player making the move; required to apply it, optional to check it
+     * @param move packed move (see {@link com.example.chessgamebackend.domain.PackedMove})
+     */
+    public record Attempt(String playerId, int move) {}
+
+    static MoveCheck legal(String san, GameStatus status, String fen) {
+        return new MoveCheck(true, san, status, fen, null);
+    }
+
+    static MoveCheck rejected(String error) {
+        return new MoveCheck(false, null, null, null, error);
+    }
+}
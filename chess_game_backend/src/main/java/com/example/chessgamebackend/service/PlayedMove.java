@@ -0,0 +1,12 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Game;
+
+/**
+ * PUBLIC_INTERFACE
+ * A move made with {@link GameService#makeMove}.
+ * @param game the game's state after the move
+ * @param move packed move as the engine played it (see {@link com.example.chessgamebackend.engine.ChessEngine.Result#move()}),
+ *             which can differ from the request in its promotion piece
+ */
+public record PlayedMove(Game game, int move) {}
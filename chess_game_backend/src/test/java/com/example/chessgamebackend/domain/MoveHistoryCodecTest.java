@@ -0,0 +1,83 @@
+package com.example.chessgamebackend.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoveHistoryCodecTest {
+
+    private static final int E4 = move("e2", "e4", null);
+    private static final int E5 = move("e7", "e5", null);
+    private static final int A8_KNIGHT = move("a7", "a8", PieceType.KNIGHT);
+
+    @Test
+    void roundTrip() {
+        int[] moves = {E4, E5, A8_KNIGHT};
+        byte[] data = MoveHistoryCodec.encode(moves);
+        assertEquals(MoveHistoryCodec.HEADER_SIZE + 2 * moves.length, data.length);
+        assertEquals(3, MoveHistoryCodec.count(data));
+        assertArrayEquals(moves, MoveHistoryCodec.decode(data));
+    }
+
+    @Test
+    void flagsAreDropped() {
+        int[] decoded = MoveHistoryCodec.decode(MoveHistoryCodec.encode(new int[]{E4 | PackedMove.DOUBLE_PUSH}));
+        assertArrayEquals(new int[]{E4}, decoded);
+    }
+
+    @Test
+    void emptyHistoryIsJustTheHeader() {
+        byte[] data = MoveHistoryCodec.encode(new int[0]);
+        assertArrayEquals(new byte[]{'M', 'H', MoveHistoryCodec.VERSION_1, 0}, data);
+        assertEquals(0, MoveHistoryCodec.decode(data).length);
+    }
+
+    @Test
+    void rejectsOtherMagic() {
+        byte[] data = MoveHistoryCodec.encode(new int[]{E4});
+        data[0] = 'X';
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MoveHistoryCodec.decode(data));
+        assertEquals("Not a move history", e.getMessage());
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = MoveHistoryCodec.encode(new int[]{E4});
+        data[2] = 2;
+        assertThrows(IllegalArgumentException.class, () -> new MoveHistoryCodec.Decoder(new ByteArrayInputStream(data)));
+        assertThrows(IllegalArgumentException.class, () -> MoveHistoryCodec.decode(data));
+    }
+
+    @Test
+    void rejectsTruncatedHistory() {
+        assertThrows(IllegalArgumentException.class, () -> MoveHistoryCodec.count(new byte[]{'M', 'H'}));
+        byte[] data = MoveHistoryCodec.encode(new int[]{E4});
+        byte[] torn = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> MoveHistoryCodec.decode(torn));
+    }
+
+    @Test
+    void readsBaselineLegacyJson() {
+        // As the baseline service wrote it: the promotion is the enum name or the string "null"
+        String json = "[{\"from\":\"e2\",\"to\":\"e4\",\"promotion\":\"null\"},"
+                + "{\"from\":\"e7\",\"to\":\"e5\",\"promotion\":\"null\"},"
+                + "{\"from\":\"a7\",\"to\":\"a8\",\"promotion\":\"KNIGHT\"}]";
+        assertArrayEquals(new int[]{E4, E5, A8_KNIGHT}, MoveHistoryCodec.fromLegacyJson(json));
+    }
+
+    @Test
+    void readsLegacyJsonVariants() {
+        String json = "[ { \"from\": \"E2\", \"to\": \"E4\", \"promotion\": null }, {\"from\":\"a7\",\"to\":\"a8\",\"promotion\":\"knight\"} ]";
+        assertArrayEquals(new int[]{E4, A8_KNIGHT}, MoveHistoryCodec.fromLegacyJson(json));
+        assertEquals(0, MoveHistoryCodec.fromLegacyJson("[]").length);
+    }
+
+    private static int move(String from, String to, PieceType promotion) {
+        return PackedMove.of(Board.squareIndex(from), Board.squareIndex(to), promotion);
+    }
+}
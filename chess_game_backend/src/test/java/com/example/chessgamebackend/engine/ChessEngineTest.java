@@ -0,0 +1,58 @@
+package com.example.chessgamebackend.engine;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.domain.PieceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChessEngineTest {
+
+    private static final String PROMOTION = "8/4P3/8/8/8/k7/8/4K3 w - - 0 1";
+
+    private final ChessEngine engine = new ChessEngine();
+
+    @Test
+    void promotionWithoutPieceIsQueen() {
+        ChessEngine.Result res = engine.applyMove(PROMOTION, move("e7", "e8", null));
+        assertEquals("e8=Q", res.san());
+        assertEquals("4Q3/8/8/8/8/k7/8/4K3 b - - 0 1", res.fen());
+        assertEquals(move("e7", "e8", PieceType.QUEEN), res.move());
+    }
+
+    @Test
+    void underpromotionIsKept() {
+        assertEquals("e8=N", engine.applyMove(PROMOTION, move("e7", "e8", PieceType.KNIGHT)).san());
+    }
+
+    @Test
+    void promotionPieceOnOtherMoveIsIgnored() {
+        Board board = new Board();
+        board.initStartingPosition();
+        ChessEngine.Result res = engine.applyMove(board, move("e2", "e4", PieceType.QUEEN));
+        assertEquals("e4", res.san());
+        assertEquals(move("e2", "e4", null), res.move());
+    }
+
+    @Test
+    void wrongPromotionPieceIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.applyMove(PROMOTION, move("e7", "e8", PieceType.KING)));
+    }
+
+    @Test
+    void validatorAgreesWithEngine() {
+        Board board = new Board();
+        board.loadFEN(PROMOTION);
+        MoveValidator validator = new MoveValidator();
+        assertTrue(validator.isLegalMove(board, Color.WHITE, move("e7", "e8", null)));
+        assertEquals(PROMOTION, board.toFEN());
+    }
+
+    private static int move(String from, String to, PieceType promotion) {
+        return PackedMove.of(Board.squareIndex(from), Board.squareIndex(to), promotion);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.chessgamebackend.engine;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.GameWireCodec;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.domain.PieceType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameWireCodecTest {
+
+    private static final int FLAGS = 7; // offset of the position flags with one-byte version and ply count
+    private static final int BOARD = 10;
+
+    private final ChessEngine engine = new ChessEngine();
+
+    @Test
+    void stateOfTheStartingPosition() {
+        byte[] state = GameWireCodec.encodeState(game(engine.startingFEN(), 0, 0));
+        assertEquals(42, state.length);
+        assertArrayEquals(new byte[]{'G', 'W', GameWireCodec.VERSION_1, GameWireCodec.STATE, 0, 0,
+                (byte) GameStatus.ONGOING.ordinal()}, Arrays.copyOf(state, FLAGS));
+        int allCastling = Board.WHITE_KINGSIDE | Board.WHITE_QUEENSIDE | Board.BLACK_KINGSIDE | Board.BLACK_QUEENSIDE;
+        assertEquals(allCastling << 1, state[FLAGS]);
+        assertEquals(64, state[FLAGS + 1]); // no en passant square
+        assertEquals(0, state[FLAGS + 2]);
+        // Low nibble first: a1 rook (3) and b1 knight (5), ... e1 king (1) and f1 bishop (4); black adds 8
+        byte[] board = Arrays.copyOfRange(state, BOARD, state.length);
+        assertArrayEquals(bytes(0x53, 0x24, 0x41, 0x35, 0x66, 0x66, 0x66, 0x66), Arrays.copyOfRange(board, 0, 8));
+        assertArrayEquals(new byte[16], Arrays.copyOfRange(board, 8, 24));
+        assertArrayEquals(bytes(0xEE, 0xEE, 0xEE, 0xEE, 0xDB, 0xAC, 0xC9, 0xBD), Arrays.copyOfRange(board, 24, 32));
+    }
+
+    @Test
+    void stateCarriesSideToMoveAndEnPassantSquare() {
+        byte[] state = GameWireCodec.encodeState(game("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", 1, 1));
+        assertEquals(1, state[FLAGS] & 1);
+        assertEquals(Board.squareIndex("e3"), state[FLAGS + 1]);
+    }
+
+    @Test
+    void stateCarriesPartialCastlingRights() {
+        byte[] state = GameWireCodec.encodeState(game("r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1", 0, 0));
+        assertEquals((Board.WHITE_KINGSIDE | Board.BLACK_QUEENSIDE) << 1, state[FLAGS]);
+        state = GameWireCodec.encodeState(game("r3k2r/8/8/8/8/8/8/R3K2R b - - 0 1", 0, 0));
+        assertEquals(1, state[FLAGS]);
+    }
+
+    @Test
+    void halfmoveClockIsClampedToOneByte() {
+        byte[] state = GameWireCodec.encodeState(game("4k3/8/8/8/8/8/8/4K3 w - - 300 200", 0, 0));
+        assertEquals(255, state[FLAGS + 2] & 0xFF);
+        state = GameWireCodec.encodeState(game("4k3/8/8/8/8/8/8/4K3 w - - 99 200", 0, 0));
+        assertEquals(99, state[FLAGS + 2]);
+    }
+
+    @Test
+    void versionAndPlyCountAreVarints() {
+        byte[] state = GameWireCodec.encodeState(game(engine.startingFEN(), 300, 127));
+        assertArrayEquals(bytes(0xAC, 0x02, 0x7F), Arrays.copyOfRange(state, 4, 7));
+        assertEquals(43, state.length);
+    }
+
+    @Test
+    void moveRoundTrip() {
+        int move = move("a7", "a8", PieceType.KNIGHT) | PackedMove.CAPTURE;
+        GameWireCodec.MoveCommand command = GameWireCodec.decodeMove(GameWireCodec.encodeMove(move, "player-1"));
+        assertEquals(PackedMove.core(move), command.move());
+        assertEquals("player-1", command.playerId());
+    }
+
+    @Test
+    void rejectsMessagesThatAreNotMoveRequests() {
+        byte[] valid = GameWireCodec.encodeMove(move("e2", "e4", null), "p");
+        rejected(null);
+        rejected(new byte[]{'G', 'W', 1});
+        rejected(with(valid, 0, 'X'));
+        rejected(with(valid, 2, 2)); // version
+        rejected(with(valid, 3, GameWireCodec.STATE));
+        rejected(Arrays.copyOf(valid, GameWireCodec.HEADER_SIZE + 2));
+    }
+
+    @Test
+    void rejectsMalformedMoves() {
+        byte[] valid = GameWireCodec.encodeMove(move("e2", "e4", null), "p");
+        rejected(with(valid, 4, valid[4] | 0x80)); // bit 15
+        rejected(GameWireCodec.encodeMove(move("a7", "a8", PieceType.KING), "p"));
+        rejected(GameWireCodec.encodeMove(move("a7", "a8", PieceType.PAWN), "p"));
+        rejected(with(valid, 4, valid[4] | 0x70)); // promotion code 7, no piece type
+    }
+
+    @Test
+    void rejectsWrongPlayerIdLength() {
+        byte[] valid = GameWireCodec.encodeMove(move("e2", "e4", null), "player");
+        rejected(with(valid, 6, 0));
+        rejected(with(valid, 6, 7));
+        rejected(Arrays.copyOf(valid, valid.length + 1));
+        assertThrows(IllegalArgumentException.class, () -> GameWireCodec.encodeMove(move("e2", "e4", null), ""));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameWireCodec.encodeMove(move("e2", "e4", null), "x".repeat(256)));
+    }
+
+    @Test
+    void playerIdLengthCountsUtf8Bytes() {
+        String player = "\u00e9";
+        byte[] message = GameWireCodec.encodeMove(move("e2", "e4", null), player);
+        assertEquals(player.getBytes(StandardCharsets.UTF_8).length, message[6]);
+        assertEquals(player, GameWireCodec.decodeMove(message).playerId());
+    }
+
+    private static void rejected(byte[] message) {
+        assertThrows(IllegalArgumentException.class, () -> GameWireCodec.decodeMove(message));
+    }
+
+    private static byte[] with(byte[] message, int index, int value) {
+        byte[] copy = message.clone();
+        copy[index] = (byte) value;
+        return copy;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] out = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = (byte) values[i];
+        }
+        return out;
+    }
+
+    private static Game game(String fen, long version, int plyCount) {
+        Game g = Game.restore(UUID.randomUUID(), Instant.EPOCH, Instant.EPOCH, version);
+        g.setCurrentFEN(fen);
+        g.setTurn(fen.contains(" b ") ? Color.BLACK : Color.WHITE);
+        g.setStatus(GameStatus.ONGOING);
+        g.setPlyCount(plyCount);
+        return g;
+    }
+
+    private static int move(String from, String to, PieceType promotion) {
+        return PackedMove.of(Board.squareIndex(from), Board.squareIndex(to), promotion);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chessgamebackend.engine;
+
+import com.example.chessgamebackend.domain.Board;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Move generator against the published perft counts of {@link Perft#REFERENCE_POSITIONS}, every depth
+ * up to {@link #MAX_NODES} leaf nodes so the suite stays within a few seconds.
+ */
+class PerftTest {
+
+    private static final long MAX_NODES = 500_000;
+
+    private final Perft perft = new Perft();
+
+    static List<Arguments> referenceDepths() {
+        List<Arguments> cases = new ArrayList<>();
+        for (Perft.ReferencePosition ref : Perft.REFERENCE_POSITIONS) {
+            for (int depth = 1; depth <= ref.nodes().size() && ref.nodes().get(depth - 1) <= MAX_NODES; depth++) {
+                cases.add(Arguments.of(ref.name(), ref.fen(), depth, ref.nodes().get(depth - 1)));
+            }
+        }
+        return cases;
+    }
+
+    @ParameterizedTest(name = "{0} depth {2}")
+    @MethodSource("referenceDepths")
+    void matchesPublishedNodeCount(String name, String fen, int depth, long expected) {
+        Board board = new Board();
+        board.loadFEN(fen);
+        assertEquals(expected, perft.perft(board, depth));
+        assertEquals(fen, board.toFEN(), "board restored after make/unmake");
+    }
+
+    @ParameterizedTest(name = "{0} depth {2}")
+    @MethodSource("referenceDepths")
+    void parallelMatchesPublishedNodeCount(String name, String fen, int depth, long expected) {
+        Board board = new Board();
+        board.loadFEN(fen);
+        assertEquals(expected, perft.parallelPerft(board, depth, ForkJoinPool.commonPool()).nodes());
+    }
+
+    @Test
+    void nodeBudgetStopsALargerTree() {
+        Board board = new Board();
+        board.initStartingPosition();
+        assertEquals(197281, perft.parallelPerft(board, 4, ForkJoinPool.commonPool(), 250_000).nodes());
+        assertThrows(IllegalArgumentException.class, () -> perft.parallelPerft(board, 4, ForkJoinPool.commonPool(), 150_000));
+        assertThrows(IllegalArgumentException.class, () -> perft.parallelPerft(board, 1, ForkJoinPool.commonPool(), 19));
+    }
+}
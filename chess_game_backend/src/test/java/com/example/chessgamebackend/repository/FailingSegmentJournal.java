@@ -0,0 +1,22 @@
+package com.example.chessgamebackend.repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/** Journal whose forces fail on demand, as a full or failing disk would. */
+class FailingSegmentJournal extends SegmentJournal {
+
+    volatile boolean failForce;
+
+    FailingSegmentJournal(Path dir, String prefix) {
+        super(dir, prefix);
+    }
+
+    @Override
+    void force() throws IOException {
+        if (failForce) {
+            throw new IOException("No space left on device");
+        }
+        super.force();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.engine.ChessEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Restarts of the journal store on the same directory. A store that is never shut down stands for a
+ * crash: only what its group commits forced to disk is there for the next one.
+ */
+class JournalGameStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final ChessEngine engine = new ChessEngine();
+
+    @Test
+    void restartReplaysTheJournal() {
+        JournalGameStore store = start(journal());
+        Game game = create(store);
+        join(store, game, "black");
+        play(store, game, "e2", "e4");
+        play(store, game, "e7", "e5");
+
+        JournalGameStore restarted = start(journal());
+        assertSameGame(game, restarted);
+        List<GameMove> moves = restarted.moves(game.getId(), 1, 2);
+        assertEquals(2, moves.size());
+        assertEquals("e4", moves.get(0).getSan());
+        assertEquals("e5", moves.get(1).getSan());
+    }
+
+    @Test
+    void restartLoadsTheSnapshotThenTheTail() throws InterruptedException {
+        JournalGameStore first = start(journal());
+        Game a = create(first);
+        play(first, a, "d2", "d4");
+        first.shutdown(); // writes a snapshot
+
+        JournalGameStore second = start(journal());
+        Game b = create(second);
+        join(second, b, "black");
+        play(second, b, "g1", "f3");
+        play(second, a, "d7", "d5");
+
+        JournalGameStore third = start(journal());
+        assertSameGame(a, third);
+        assertSameGame(b, third);
+        assertEquals(2, third.moves(a.getId(), 1, 2).size());
+    }
+
+    @Test
+    void tornTailRecordIsIgnored() throws IOException {
+        JournalGameStore store = start(journal());
+        Game game = create(store);
+        play(store, game, "e2", "e4");
+
+        Path last = segments().get(segments().size() - 1);
+        // A record header promising more bytes than made it to disk
+        Files.write(last, new byte[] {0, 0, 1, 0, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        assertSameGame(game, start(journal()));
+    }
+
+    @Test
+    void unitWhoseGroupCommitFailedIsNotReplayed() {
+        FailingSegmentJournal journal = journal();
+        JournalGameStore store = start(journal);
+        Game game = create(store);
+        play(store, game, "e2", "e4");
+        Game committed = store.find(game.getId()).orElseThrow();
+
+        journal.failForce = true;
+        assertThrows(UncheckedIOException.class, () -> play(store, game.copy(), "e7", "e5"));
+        assertEquals(1, store.find(game.getId()).orElseThrow().getPlyCount());
+
+        JournalGameStore restarted = start(journal());
+        assertSameGame(committed, restarted);
+        assertTrue(restarted.moves(game.getId(), 2, 2).isEmpty());
+    }
+
+    private FailingSegmentJournal journal() {
+        return new FailingSegmentJournal(dir, JournalGameStore.SEGMENT_PREFIX);
+    }
+
+    private JournalGameStore start(SegmentJournal journal) {
+        JournalGameStore store = new JournalGameStore(new NoTransactionManager(), journal, dir, DataSize.ofMegabytes(1),
+                Duration.ofHours(1));
+        store.afterSingletonsInstantiated();
+        return store;
+    }
+
+    private Game create(JournalGameStore store) {
+        Game g = new Game();
+        g.setCurrentFEN(engine.startingFEN());
+        g.setStatus(GameStatus.ONGOING);
+        g.setTurn(Color.WHITE);
+        g.setWhitePlayerId("white");
+        g.recordPosition(engine.positionKey(g.getCurrentFEN()), true);
+        return store.create(g);
+    }
+
+    private static void join(JournalGameStore store, Game game, String black) {
+        store.inUnit(() -> {
+            game.setBlackPlayerId(black);
+            game.preUpdate();
+            store.update(game);
+            return null;
+        });
+    }
+
+    /** Plays a move the way the service does: one row, then the position update. */
+    private void play(JournalGameStore store, Game game, String from, String to) {
+        ChessEngine.Result res = engine.applyMove(game.getCurrentFEN(),
+                PackedMove.of(Board.squareIndex(from), Board.squareIndex(to), null));
+        store.inUnit(() -> {
+            int ply = game.getPlyCount() + 1;
+            store.insertMove(new GameMove(game.getId(), ply, from, to, null, res.san(), res.positionKey(), Instant.now()),
+                    res.irreversible());
+            game.setCurrentFEN(res.fen());
+            game.setTurn(res.nextTurn());
+            game.setStatus(res.status());
+            game.recordPosition(res.positionKey(), res.irreversible());
+            game.setPlyCount(ply);
+            game.preUpdate();
+            store.updatePosition(game);
+            return null;
+        });
+    }
+
+    private static void assertSameGame(Game expected, JournalGameStore store) {
+        Game actual = store.find(expected.getId()).orElseThrow();
+        assertEquals(expected.getCurrentFEN(), actual.getCurrentFEN());
+        assertEquals(expected.getTurn(), actual.getTurn());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getBlackPlayerId(), actual.getBlackPlayerId());
+        assertEquals(expected.getPlyCount(), actual.getPlyCount());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    private List<Path> segments() {
+        List<Path> segments = new SegmentJournal(dir, JournalGameStore.SEGMENT_PREFIX).existingSegments();
+        assertFalse(segments.isEmpty());
+        return segments;
+    }
+}
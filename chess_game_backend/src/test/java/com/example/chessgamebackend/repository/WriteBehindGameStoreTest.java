@@ -0,0 +1,153 @@
+package com.example.chessgamebackend.repository;
+
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The write-behind store against mocked repositories and a JdbcTemplate that records its batches instead
+ * of writing them. The flush interval is long, so accepted units stay in the journal until a restart.
+ */
+class WriteBehindGameStoreTest {
+
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final String AFTER_E4 = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1";
+    private static final String AFTER_E5 = "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2";
+
+    @TempDir
+    Path dir;
+
+    private final UUID id = UUID.randomUUID();
+    private final GameRepository repository = mock(GameRepository.class);
+    private final GameMoveRepository moveRepository = mock(GameMoveRepository.class);
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+
+    @Test
+    void leftoverSegmentsAreWrittenOnStartup() {
+        WriteBehindGameStore crashed = start(journal());
+        play(crashed, stored(), 1, "e2", "e4", AFTER_E4);
+        assertTrue(jdbc.batches.isEmpty());
+
+        start(journal());
+        assertEquals(List.of("merge game_moves", "update games"), jdbc.statements());
+        assertEquals(1, jdbc.batches.get(0).rows().get(0)[1]);
+        assertEquals(AFTER_E4, jdbc.batches.get(1).rows().get(0)[0]);
+        assertEquals(1, new SegmentJournal(dir, WriteBehindGameStore.SEGMENT_PREFIX).existingSegments().size());
+    }
+
+    @Test
+    void readsSeeAcceptedButUnflushedUnits() {
+        when(repository.findById(id)).thenReturn(Optional.of(stored()));
+        WriteBehindGameStore store = start(journal());
+        play(store, store.find(id).orElseThrow(), 1, "e2", "e4", AFTER_E4);
+
+        Game game = store.find(id).orElseThrow();
+        assertEquals(AFTER_E4, game.getCurrentFEN());
+        assertEquals(Color.BLACK, game.getTurn());
+        assertEquals(1, game.getPlyCount());
+        assertEquals(1, game.getVersion());
+        List<GameMove> moves = store.moves(id, 1, 1);
+        assertEquals(1, moves.size());
+        assertEquals("e4", moves.get(0).getSan());
+        assertTrue(jdbc.batches.isEmpty());
+    }
+
+    @Test
+    void failedAppendIsNeitherVisibleNorReplayed() {
+        when(repository.findById(id)).thenReturn(Optional.of(stored()));
+        FailingSegmentJournal journal = journal();
+        WriteBehindGameStore store = start(journal);
+        Game game = store.find(id).orElseThrow();
+        play(store, game, 1, "e2", "e4", AFTER_E4);
+
+        journal.failForce = true;
+        assertThrows(UncheckedIOException.class, () -> play(store, game, 2, "e7", "e5", AFTER_E5));
+        assertEquals(1, store.find(id).orElseThrow().getPlyCount());
+        assertTrue(store.moves(id, 2, 2).isEmpty());
+
+        start(journal());
+        assertEquals(List.of("merge game_moves", "update games"), jdbc.statements());
+        assertEquals(1, jdbc.batches.get(0).rows().size());
+        assertEquals(1, jdbc.batches.get(1).rows().get(0)[4]);
+    }
+
+    private FailingSegmentJournal journal() {
+        return new FailingSegmentJournal(dir, WriteBehindGameStore.SEGMENT_PREFIX);
+    }
+
+    private WriteBehindGameStore start(SegmentJournal journal) {
+        WriteBehindGameStore store = new WriteBehindGameStore(repository, moveRepository, jdbc, new NoTransactionManager(),
+                new SimpleMeterRegistry(), journal, 500, Duration.ofHours(1), 100, Duration.ofSeconds(1));
+        store.afterSingletonsInstantiated();
+        return store;
+    }
+
+    /** The game row as the database holds it: the starting position, never flushed to. */
+    private Game stored() {
+        Game g = Game.restore(id, Instant.EPOCH, Instant.EPOCH, 0);
+        g.setCurrentFEN(START);
+        g.setTurn(Color.WHITE);
+        g.setStatus(GameStatus.ONGOING);
+        g.setWhitePlayerId("white");
+        g.setBlackPlayerId("black");
+        return g;
+    }
+
+    /** One unit as the service writes a move: its row, then the new position. */
+    private static void play(WriteBehindGameStore store, Game game, int ply, String from, String to, String fen) {
+        store.inUnit(() -> {
+            store.insertMove(new GameMove(game.getId(), ply, from, to, null, to, 0L, Instant.now()), false);
+            game.setCurrentFEN(fen);
+            game.setTurn(game.getTurn() == Color.WHITE ? Color.BLACK : Color.WHITE);
+            game.setPlyCount(ply);
+            game.preUpdate();
+            store.updatePosition(game);
+            return null;
+        });
+    }
+
+    private record Batch(String sql, List<Object[]> rows) {
+    }
+
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<Batch> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            batches.add(new Batch(sql, batchArgs));
+            return new int[batchArgs.size()];
+        }
+
+        /** Each batch's verb and table. */
+        List<String> statements() {
+            List<String> statements = new ArrayList<>();
+            for (Batch b : batches) {
+                String[] words = b.sql().split(" ");
+                statements.add(words[0] + " " + words[words[0].equals("update") ? 1 : 2]);
+            }
+            return statements;
+        }
+    }
+}
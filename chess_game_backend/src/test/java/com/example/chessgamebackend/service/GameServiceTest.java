@@ -0,0 +1,140 @@
+package com.example.chessgamebackend.service;
+
+import com.example.chessgamebackend.domain.Board;
+import com.example.chessgamebackend.domain.Color;
+import com.example.chessgamebackend.domain.Game;
+import com.example.chessgamebackend.domain.GameMove;
+import com.example.chessgamebackend.domain.GameStatus;
+import com.example.chessgamebackend.domain.MoveHistoryCodec;
+import com.example.chessgamebackend.domain.PackedMove;
+import com.example.chessgamebackend.repository.GameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/** The service over an in-memory store, for games stored before the compact history. */
+class GameServiceTest {
+
+    private static final String AFTER_E4_E5 = "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2";
+    private static final String LEGACY_HISTORY = "[{\"from\":\"e2\",\"to\":\"e4\",\"promotion\":\"null\"},"
+            + "{\"from\":\"e7\",\"to\":\"e5\",\"promotion\":\"null\"}]";
+
+    private final MemoryStore store = new MemoryStore();
+    private final GameService service = service(store);
+
+    @Test
+    void legacyGameIsConvertedAndTheNextMoveIsTheFollowingPly() {
+        UUID id = UUID.randomUUID();
+        store.games.put(id, legacyGame(id));
+
+        service.makeMove(id, "white", move("g1", "f3"));
+
+        Game saved = store.games.get(id);
+        assertNull(saved.getMoveHistory());
+        assertArrayEquals(new int[]{move("e2", "e4"), move("e7", "e5")}, MoveHistoryCodec.decode(saved.getMoveData()));
+        assertEquals(3, saved.getPlyCount());
+        assertEquals(Color.BLACK, saved.getTurn());
+        assertEquals(1, store.rows.size());
+        GameMove row = store.rows.get(0);
+        assertEquals(3, row.getPly());
+        assertEquals("g1", row.getFromSquare());
+        assertEquals("f3", row.getToSquare());
+        assertEquals("Nf3", row.getSan());
+
+        List<String> sans = new ArrayList<>();
+        for (GameMove m : service.moveHistory(id, 0, 10).getContent()) {
+            sans.add(m.getPly() + ". " + m.getSan());
+        }
+        assertEquals(List.of("1. e4", "2. e5", "3. Nf3"), sans);
+    }
+
+    /** A game row as the baseline left it: the JSON history and no ply count. */
+    private static Game legacyGame(UUID id) {
+        Game g = Game.restore(id, Instant.EPOCH, Instant.EPOCH, 2);
+        g.setCurrentFEN(AFTER_E4_E5);
+        g.setTurn(Color.WHITE);
+        g.setStatus(GameStatus.ONGOING);
+        g.setWhitePlayerId("white");
+        g.setBlackPlayerId("black");
+        g.setMoveHistory(LEGACY_HISTORY);
+        return g;
+    }
+
+    private static GameService service(GameStore store) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LiveGameCache liveGames = new LiveGameCache(store, registry, 100, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(liveGames, "entityManager", mock(EntityManager.class));
+        GameUpdatePublisher updates = new GameUpdatePublisher(mock(GameUpdateEncoder.class), registry, 1, 16,
+                new MockEnvironment());
+        return new GameService(store, new LegalMoveCache(registry, 100), liveGames,
+                new LockingGameExecutor(new GameLocks(16)), updates, new GameVersionIndex(100), 3);
+    }
+
+    private static int move(String from, String to) {
+        return PackedMove.of(Board.squareIndex(from), Board.squareIndex(to), null);
+    }
+
+    /** Games and move rows in maps; a unit just runs its command. */
+    private static final class MemoryStore implements GameStore {
+
+        final Map<UUID, Game> games = new HashMap<>();
+        final List<GameMove> rows = new ArrayList<>();
+
+        @Override
+        public <T> T inUnit(Supplier<T> command) {
+            return command.get();
+        }
+
+        @Override
+        public Game create(Game game) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Game> find(UUID id) {
+            return Optional.ofNullable(games.get(id)).map(Game::copy);
+        }
+
+        @Override
+        public void update(Game game) {
+            game.versionWritten();
+            games.put(game.getId(), game.copy());
+        }
+
+        @Override
+        public void insertMove(GameMove move, boolean irreversible) {
+            rows.add(move);
+        }
+
+        @Override
+        public void deleteMoves(UUID gameId) {
+            rows.removeIf(m -> m.getGameId().equals(gameId));
+        }
+
+        @Override
+        public List<GameMove> moves(UUID gameId, int fromPly, int toPly) {
+            List<GameMove> result = new ArrayList<>();
+            for (GameMove m : rows) {
+                if (m.getGameId().equals(gameId) && m.getPly() >= fromPly && m.getPly() <= toPly) result.add(m);
+            }
+            return result;
+        }
+    }
+}